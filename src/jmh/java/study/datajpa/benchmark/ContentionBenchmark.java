@@ -0,0 +1,73 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 회원 몇 명을 여러 쓰레드가 동시에 수정
+ * optimistic  -> @Version + 충돌 시 재시도 (increaseAge)
+ * pessimistic -> select for update (increaseAgeWithLock)
+ * Throughput 으로 처리량, SampleTime 으로 p99 지연시간 비교
+ * hotMembers 가 작을수록 충돌이 많음
+ */
+@State(Scope.Benchmark)
+@Threads(16)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContentionBenchmark {
+
+    @Param({"1", "16"})
+    int hotMembers;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    List<Long> memberIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:contention_benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run();
+        memberRepository = context.getBean(MemberRepository.class);
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < hotMembers; i++) {
+            members.add(new Member("hot" + i, 0));
+        }
+        memberRepository.saveAll(members).forEach(m -> memberIds.add(m.getId()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Long hotMemberId() {
+        return memberIds.get(ThreadLocalRandom.current().nextInt(memberIds.size()));
+    }
+
+    @Benchmark
+    public Member optimistic() {
+        return memberRepository.increaseAge(hotMemberId());
+    }
+
+    @Benchmark
+    public Member pessimistic() {
+        return memberRepository.increaseAgeWithLock(hotMemberId());
+    }
+}
@@ -0,0 +1,105 @@
+package study.datajpa.benchmark;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.NoopOptimizer;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.openjdk.jmh.annotations.*;
+import study.datajpa.entity.id.LockFreePooledLoOptimizer;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * id 생성 방식별 처리량 (쓰레드 8개가 동시에 id 요청)
+ * none      -> 기존 방식, id 하나마다 시퀀스 호출 (DB 왕복)
+ * pooled-lo -> 하이버네이트 기본 pooled-lo, 블록 단위 시퀀스 호출 + synchronized
+ * lock-free -> LockFreePooledLoOptimizer, 블록 단위 시퀀스 호출 + 락 없음
+ * 시퀀스는 내장 H2(메모리)에서 실제로 호출
+ */
+@State(Scope.Benchmark)
+@Threads(8)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdGeneratorBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:id_benchmark;DB_CLOSE_DELAY=-1";
+
+    @Param({"none", "pooled-lo", "lock-free"})
+    String optimizerType;
+
+    @Param({"50"})
+    int allocationSize;
+
+    Optimizer optimizer;
+    String sequenceName;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        int incrementSize = "none".equals(optimizerType) ? 1 : allocationSize;
+        sequenceName = "seq_" + optimizerType.replace('-', '_');
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("drop sequence if exists " + sequenceName);
+            statement.execute("create sequence " + sequenceName + " start with 1 increment by " + incrementSize);
+        }
+
+        switch (optimizerType) {
+            case "none":
+                optimizer = new NoopOptimizer(Long.class, incrementSize);
+                break;
+            case "pooled-lo":
+                optimizer = new PooledLoOptimizer(Long.class, incrementSize);
+                break;
+            default:
+                optimizer = new LockFreePooledLoOptimizer(Long.class, incrementSize);
+        }
+    }
+
+    //쓰레드마다 커넥션 하나 -> 시퀀스 호출 = DB 왕복
+    @State(Scope.Thread)
+    public static class SequenceCallback implements AccessCallback {
+
+        Connection connection;
+        String sql;
+
+        @Setup(Level.Trial)
+        public void setUp(IdGeneratorBenchmark benchmark) throws SQLException {
+            connection = DriverManager.getConnection(URL, "sa", "");
+            sql = "select next value for " + benchmark.sequenceName;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+
+        @Override
+        public IntegralDataTypeHolder getNextValue() {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(sql)) {
+                rs.next();
+                return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class).initialize(rs.getLong(1));
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public String getTenantIdentifier() {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Serializable generate(SequenceCallback callback) {
+        return optimizer.generate(callback);
+    }
+}
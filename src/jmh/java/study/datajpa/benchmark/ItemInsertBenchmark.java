@@ -0,0 +1,75 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Item;
+import study.datajpa.repository.ItemRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 직접 할당 id 엔티티(Item) 저장 방식별 처리량
+ * merge      -> id마다 select 후 insert
+ * saveAllNew -> select 없이 batch insert (InsertOnlyRepository)
+ * 호출마다 itemCount 개의 새 id를 한 트랜잭션에서 저장, 내장 H2(메모리) 사용
+ * SQL 실행 수 비교는 ItemRepositoryTest.saveAllNewStatementCount
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ItemInsertBenchmark {
+
+    @Param({"500"})
+    int itemCount;
+
+    ConfigurableApplicationContext context;
+    ItemRepository itemRepository;
+    EntityManager em;
+    TransactionTemplate transaction;
+    long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:item_benchmark;DB_CLOSE_DELAY=-1",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run();
+        itemRepository = context.getBean(ItemRepository.class);
+        em = context.getBean(EntityManager.class);
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void merge() {
+        List<Item> items = newItems("merge-");
+        transaction.executeWithoutResult(status -> items.forEach(em::merge));
+    }
+
+    @Benchmark
+    public List<Item> saveAllNew() {
+        return itemRepository.saveAllNew(newItems("insert-"));
+    }
+
+    //호출마다 새 id -> 이미 있는 id로 인한 update, 중복 키 오류가 섞이지 않도록
+    private List<Item> newItems(String prefix) {
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Item(prefix + sequence++));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,110 @@
+package study.datajpa.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.client.RestTemplate;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /members 부하 테스트 -> 커넥션 풀 포화 지점 확인
+ * 동시 요청 32개를 고정하고 풀 크기를 바꿔가며 측정
+ * 풀 크기가 작으면 요청이 커넥션을 기다림 -> 처리량은 그대로인데 지연시간(p99)과 pending 만 늘어남
+ * 풀 크기를 늘려도 처리량이 더 오르지 않는 지점이 포화 지점 (그 이상은 DB 쪽 경합만 늘어남)
+ * 측정 중 최대 pending, active 커넥션 수를 함께 출력
+ * 실행 중 /actuator/metrics/hikaricp.connections.pending, repository.connection.acquire 로도 확인 가능
+ */
+@State(Scope.Benchmark)
+@Threads(32)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberEndpointLoadBenchmark {
+
+    @Param({"2", "5", "10", "20"})
+    int poolSize;
+
+    ConfigurableApplicationContext context;
+    RestTemplate restTemplate = new RestTemplate();
+    String url;
+
+    HikariPoolMXBean pool;
+    ScheduledExecutorService sampler;
+    volatile int maxPending;
+    volatile int maxActive;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.max-threads=64",
+                        "spring.datasource.url=jdbc:h2:mem:load_benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "spring.datasource.hikari.minimum-idle=" + poolSize,
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "datajpa.response-cache.ttl=0s",    //응답 캐시를 끄고 매 요청 DB 조회
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run();
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            teams.add(new Team("team" + i));
+        }
+        context.getBean(TeamRepository.class).saveAll(teams);
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            members.add(new Member("member" + i, i % 100, teams.get(i % teams.size())));
+        }
+        context.getBean(MemberRepository.class).saveAllBatched(members);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        url = "http://localhost:" + port + "/members?page=10&size=20";
+
+        pool = hikari(context.getBean(DataSource.class)).getHikariPoolMXBean();
+        sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            maxPending = Math.max(maxPending, pool.getThreadsAwaitingConnection());
+            maxActive = Math.max(maxActive, pool.getActiveConnections());
+        }, 0, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sampler.shutdownNow();
+        System.out.printf("%npoolSize=%d maxActive=%d maxPending=%d%n", poolSize, maxActive, maxPending);
+        context.close();
+    }
+
+    @Benchmark
+    public String members() {
+        return restTemplate.getForObject(url, String.class);
+    }
+
+    //p6spy, LazyConnectionDataSourceProxy 로 감싸져 있어도 hikari 풀을 찾음
+    private HikariDataSource hikari(DataSource dataSource) throws SQLException {
+        if (dataSource instanceof DelegatingDataSource) {
+            return hikari(((DelegatingDataSource) dataSource).getTargetDataSource());
+        }
+        return dataSource.unwrap(HikariDataSource.class);
+    }
+}
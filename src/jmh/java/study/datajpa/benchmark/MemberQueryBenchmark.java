@@ -0,0 +1,113 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.NestedClosedProjections;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.repository.UserNameOnly;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemberRepository 조회 방식별 처리량 비교
+ * 1. 단건 조건 조회: 메서드 이름 쿼리 vs @Query JPQL vs NamedQuery vs 네이티브 쿼리
+ * 2. 전체 조회: 엔티티 vs DTO vs 인터페이스 projection
+ * 내장 H2(메모리)에 rowCount 만큼 데이터를 넣고 측정 -> ./gradlew jmh
+ * 2차 캐시, 쿼리 캐시, SQL 로그는 꺼서 쿼리 방식 자체의 비용만 비교
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemberQueryBenchmark {
+
+    @Param({"1000", "10000"})
+    int rowCount;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    String userName;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run();
+        memberRepository = context.getBean(MemberRepository.class);
+
+        //findMemberDto, findMemberFetchJoin 은 team join -> 팀도 함께 생성
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            teams.add(new Team("team" + i));
+        }
+        context.getBean(TeamRepository.class).saveAll(teams);
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            members.add(new Member("member" + i, i % 100, teams.get(i % teams.size())));
+        }
+        memberRepository.saveAllBatched(members);
+        userName = "member" + (rowCount / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    //단건 조건 조회
+
+    @Benchmark
+    public List<Member> derivedQuery() {
+        return memberRepository.findListByUserName(userName);
+    }
+
+    @Benchmark
+    public List<Member> jpqlQuery() {
+        return memberRepository.findUser(userName, (rowCount / 2) % 100);
+    }
+
+    @Benchmark
+    public List<Member> namedQuery() {
+        return memberRepository.findByUserName(userName);
+    }
+
+    @Benchmark
+    public Member nativeQuery() {
+        return memberRepository.findByNativeQuery(userName);
+    }
+
+    //조회 결과 타입
+
+    @Benchmark
+    public List<Member> entity() {
+        return memberRepository.findMemberFetchJoin();
+    }
+
+    @Benchmark
+    public List<MemberDto> dto() {
+        return memberRepository.findMemberDto();
+    }
+
+    @Benchmark
+    public List<UserNameOnly> computedProjection() {
+        return memberRepository.findProjectionsByUserName(userName);
+    }
+
+    @Benchmark
+    public List<NestedClosedProjections> closedProjection() {
+        return memberRepository.findProjectionsDtoByUserName(userName, NestedClosedProjections.class);
+    }
+}
@@ -0,0 +1,80 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.MemberSpec;
+import study.datajpa.repository.ShapedSpecification;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemberSpec 조합 조회
+ * criteria -> JpaSpecificationExecutor.findAll(spec), 매번 Criteria 생성 + JPQL 변환
+ * cached   -> MemberRepository.findAllBySpec(spec), shape 별로 캐시된 JPQL + 파라미터 바인딩
+ * 매 호출마다 파라미터 값은 바뀌고 조건의 모양은 같음
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SpecificationBenchmark {
+
+    @Param({"1000"})
+    int rowCount;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:spec_benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "decorator.datasource.p6spy.enable-logging=false",
+                        "logging.level.org.hibernate.SQL=warn")
+                .run();
+        memberRepository = context.getBean(MemberRepository.class);
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            teams.add(new Team("team" + i));
+        }
+        context.getBean(TeamRepository.class).saveAll(teams);
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            members.add(new Member("member" + i, i % 100, teams.get(i % teams.size())));
+        }
+        memberRepository.saveAllBatched(members);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private ShapedSpecification<Member> randomSpec() {
+        int i = ThreadLocalRandom.current().nextInt(rowCount);
+        return MemberSpec.userName("member" + i).and(MemberSpec.teamName("team" + (i % 10)));
+    }
+
+    @Benchmark
+    public List<Member> criteria() {
+        return memberRepository.findAll(randomSpec());
+    }
+
+    @Benchmark
+    public List<Member> cached() {
+        return memberRepository.findAllBySpec(randomSpec());
+    }
+}
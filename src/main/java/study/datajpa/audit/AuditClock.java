@@ -0,0 +1,60 @@
+package study.datajpa.audit;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.Supplier;
+
+/**
+ * 등록일, 수정일에 사용하는 시계
+ * LocalDateTime.now() 를 엔티티마다 호출하지 않고, 10ms 단위로 만들어둔 값을 재사용
+ * batch() 안에서는 시작 시점의 시간 하나로 모든 엔티티를 기록 -> 대량 등록 시 한번만 계산
+ */
+public final class AuditClock {
+
+    private static final long RESOLUTION_MILLIS = 10;
+
+    private static final ThreadLocal<LocalDateTime> batchTime = new ThreadLocal<>();
+    private static volatile Tick lastTick = new Tick(0, null);
+
+    private AuditClock() {
+    }
+
+    public static LocalDateTime now() {
+        LocalDateTime fixed = batchTime.get();
+        if (fixed != null) {
+            return fixed;
+        }
+
+        long millis = System.currentTimeMillis();
+        Tick tick = lastTick;
+        if (millis - tick.millis >= RESOLUTION_MILLIS) {
+            tick = new Tick(millis, LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()));
+            lastTick = tick;
+        }
+        return tick.time;
+    }
+
+    //작업 안에서 등록/수정되는 엔티티는 모두 같은 시간으로 기록
+    public static <T> T batch(Supplier<T> work) {
+        LocalDateTime previous = batchTime.get();
+        batchTime.set(previous != null ? previous : now());
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                batchTime.remove();
+            }
+        }
+    }
+
+    private static class Tick {
+        private final long millis;
+        private final LocalDateTime time;
+
+        Tick(long millis, LocalDateTime time) {
+            this.millis = millis;
+            this.time = time;
+        }
+    }
+}
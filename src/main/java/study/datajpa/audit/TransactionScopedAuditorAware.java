@@ -0,0 +1,45 @@
+package study.datajpa.audit;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 등록자, 수정자를 트랜잭션당 한번만 조회
+ * 엔티티마다 AuditorAware 가 호출되지만, 같은 트랜잭션에서는 처음 조회한 값을 재사용
+ * 트랜잭션이 끝나면 정리됨, 트랜잭션 밖에서는 매번 조회
+ */
+public class TransactionScopedAuditorAware implements AuditorAware<String> {
+
+    private final Supplier<String> auditorResolver;
+
+    public TransactionScopedAuditorAware(Supplier<String> auditorResolver) {
+        this.auditorResolver = auditorResolver;
+    }
+
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return Optional.ofNullable(auditorResolver.get());
+        }
+
+        String auditor = (String) TransactionSynchronizationManager.getResource(this);
+        if (auditor == null) {
+            auditor = auditorResolver.get();
+            if (auditor == null) {
+                return Optional.empty();
+            }
+            TransactionSynchronizationManager.bindResource(this, auditor);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionScopedAuditorAware.this);
+                }
+            });
+        }
+        return Optional.of(auditor);
+    }
+}
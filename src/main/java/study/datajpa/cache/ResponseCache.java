@@ -0,0 +1,117 @@
+package study.datajpa.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.WebRequest;
+import study.datajpa.repository.DataVersion;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 조회 응답 캐시 + 조건부 GET(ETag, Last-Modified)
+ * 1. 캐시에 있으면 DB 조회 없이 캐시된 버전으로 304 또는 캐시된 응답
+ * 2. 없으면 버전만 조회(DataVersion) -> 클라이언트의 If-None-Match / If-Modified-Since 와 같으면 304 (엔티티 조회 안 함)
+ * 3. 다르면 응답을 만들어서 캐시
+ * 버전 조회와 응답 생성은 하나의 읽기 전용 트랜잭션에서 실행 (replica 설정 시 replica)
+ * member, team 테이블을 수정하면 커밋 후 전체 캐시를 비움 (ResponseCacheInvalidator)
+ * 다른 인스턴스나 외부에서 수정한 경우를 위해 ttl 이 지나면 다시 버전을 확인
+ */
+@Component
+public class ResponseCache {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    //응답을 만드는 동안 수정이 있었으면 캐시하지 않기 위한 세대 번호
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCache(PlatformTransactionManager transactionManager,
+                         @Value("${datajpa.response-cache.ttl:5s}") Duration ttl,
+                         @Value("${datajpa.response-cache.max-entries:1000}") int maxEntries) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    //304 이면 null 반환 -> 스프링 MVC 가 본문 없이 응답
+    @SuppressWarnings("unchecked")
+    public <T> T get(WebRequest request, String key, Supplier<DataVersion> version, Supplier<T> body) {
+        Entry cached = entries.get(key);
+        if (cached != null && System.nanoTime() - cached.createdNanos < ttlNanos) {
+            return isNotModified(request, cached.version) ? null : (T) cached.body;
+        }
+
+        long startGeneration = generation.get();
+        Entry loaded = readOnlyTransaction.execute(status -> {
+            DataVersion current = version.get();
+            if (current != null && isNotModified(request, current)) {
+                return null;
+            }
+            return new Entry(current, body.get());
+        });
+        if (loaded == null) {
+            return null;
+        }
+
+        if (loaded.version != null && generation.get() == startGeneration) {
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+            entries.put(key, loaded);
+        }
+        return (T) loaded.body;
+    }
+
+    //트랜잭션 안이면 커밋(또는 롤백) 후 비움 -> 커밋 전에 비우면 다른 요청이 이전 데이터로 다시 캐시할 수 있음
+    public void invalidate() {
+        generation.incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clear();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return; //트랜잭션당 한번만 등록
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ResponseCache.this);
+                clear();
+            }
+        });
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    //응답에 ETag, Last-Modified 헤더 설정, 요청의 값과 같으면 304
+    private boolean isNotModified(WebRequest request, DataVersion version) {
+        return request.checkNotModified(version.getEtag(), version.getLastModifiedMillis());
+    }
+
+    private static class Entry {
+
+        private final DataVersion version;
+        private final Object body;
+        private final long createdNanos = System.nanoTime();
+
+        Entry(DataVersion version, Object body) {
+            this.version = version;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package study.datajpa.cache;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+/**
+ * member, team 테이블을 수정하는 SQL 이 실행되면 응답 캐시를 비움
+ * 엔티티 수정, JPQL 벌크 연산, JDBC 직접 실행(MemberBulkUpdater) 모두 p6spy 를 거치므로 한 곳에서 처리
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheInvalidator extends SimpleJdbcEventListener {
+
+    private static final Pattern WRITE = Pattern.compile(
+            "^\\s*(?:insert\\s+into|update|delete\\s+from|merge\\s+into)\\s+(?:member|team)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private final ResponseCache responseCache;
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        String sql = statementInformation.getSql();
+        if (e == null && sql != null && WRITE.matcher(sql).find()) {
+            responseCache.invalidate();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package study.datajpa.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 리포지토리 비동기 조회(@Async) 실행기
+ * 쓰레드 하나가 실행 중에 커넥션 하나를 사용하므로
+ * 쓰레드 수 = 커넥션 풀 최대 크기 - 서블릿 쓰레드용 여유분 -> 비동기 조회가 몰려도 커넥션 풀을 다 차지하지 않음
+ * 초과 요청은 큐에서 대기, 큐도 가득 차면 TaskRejectedException
+ */
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+
+    public static final String REPOSITORY_EXECUTOR = "repositoryExecutor";
+    private static final String REPOSITORY_THREAD_PREFIX = "repository-";
+
+    //실행기 작업이 실행 중인 쓰레드 표시 -> 쓰레드 이름은 다른 풀과 겹치거나 바뀔 수 있으므로 사용하지 않음
+    private static final ThreadLocal<Boolean> REPOSITORY_TASK = new ThreadLocal<>();
+
+    @Bean(name = REPOSITORY_EXECUTOR)
+    public ThreadPoolTaskExecutor repositoryExecutor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${datajpa.async.reserved-connections:2}") int reservedConnections,
+            @Value("${datajpa.async.queue-capacity:1000}") int queueCapacity) {
+
+        int poolSize = Math.max(1, maximumPoolSize - reservedConnections);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(REPOSITORY_THREAD_PREFIX);
+        executor.setTaskDecorator(AsyncConfig::markRepositoryTask);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    //리포지토리 실행기 쓰레드에서 다시 실행기에 작업을 넣고 기다리면 쓰레드가 모두 대기 상태가 될 수 있음 (deadlock)
+    public static boolean isRepositoryThread() {
+        return REPOSITORY_TASK.get() != null;
+    }
+
+    private static Runnable markRepositoryTask(Runnable task) {
+        return () -> {
+            REPOSITORY_TASK.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                REPOSITORY_TASK.remove();
+            }
+        };
+    }
+}
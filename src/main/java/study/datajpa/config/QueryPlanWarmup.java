@@ -0,0 +1,177 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.Method;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * 애플리케이션 시작 시 리포지토리 쿼리를 미리 컴파일 -> 배포 직후 첫 요청의 지연을 줄임
+ * 1. @Query JPQL (count 쿼리 포함), NamedQuery -> 스프링 데이터 JPA, 하이버네이트가 부트스트랩 시점에 이미 검증하면서 컴파일하므로 개수만 집계
+ * 2. 메서드 이름 쿼리 -> 실행할 때 Criteria 를 JPQL로 만들기 때문에 기본 파라미터로 한번 실행 (읽기 전용, 롤백)
+ *    delete/remove, Page 반환(count 쿼리 실행), 락, 수정, 비동기, Stream, 지원하지 않는 파라미터 타입이 있는 메서드는 제외
+ * 결과는 로그로 남기고, 플랜 캐시 hit/miss 는 datajpa.query.plan.cache 메트릭으로 노출
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datajpa.query-warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryPlanWarmup implements ApplicationRunner {
+
+    private final ListableBeanFactory beanFactory;
+    private final EntityManagerFactory emf;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Statistics statistics = emf.unwrap(SessionFactoryImplementor.class).getStatistics();
+        registerMetrics(statistics);
+
+        long start = System.nanoTime();
+        long missBefore = statistics.getQueryPlanCacheMissCount();
+        Result result = warmUp();
+
+        log.info("query warm-up: jpql={}, named={}, derived={}, skipped={}, compiledPlans={}, elapsed={}ms",
+                result.jpql, result.named, result.derived, result.skipped,
+                statistics.getQueryPlanCacheMissCount() - missBefore,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    Result warmUp() {
+        SessionFactoryImplementor sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        Result result = new Result();
+
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            Object repository = repositories.getRepositoryFor(domainType).orElse(null);
+
+            for (Method method : information.getQueryMethods()) {
+                Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+                String namedQuery = domainType.getSimpleName() + "." + method.getName();
+
+                if (query != null && !query.nativeQuery() && !query.value().isEmpty()) {
+                    result.jpql++;
+                } else if (query == null && sessionFactory.getNamedQueryRepository().getNamedQueryDefinition(namedQuery) != null) {
+                    result.named++;
+                } else if (query == null && execute(repository, method, domainType)) {
+                    result.derived++;
+                } else {
+                    result.skipped++;
+                }
+            }
+        }
+        return result;
+    }
+
+    //메서드 이름 쿼리를 기본 파라미터로 실행 -> Criteria 생성, JPQL 변환, 플랜 캐시 등록
+    private boolean execute(Object repository, Method method, Class<?> domainType) {
+        if (repository == null || !isWarmable(method, domainType)) {
+            return false;
+        }
+
+        Object[] args = new Object[method.getParameterCount()];
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            args[i] = defaultValue(parameterTypes[i]);
+            if (args[i] == null) {
+                return false;
+            }
+        }
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try {
+            readOnly.execute(status -> {
+                status.setRollbackOnly();
+                return ReflectionUtils.invokeMethod(method, repository, args);
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.debug("query warm-up skipped: {}", method, e);
+            return false;
+        }
+    }
+
+    //조회만 하고, 조회 결과 크기와 상관없이 쿼리 한번만 실행하는 메서드
+    private boolean isWarmable(Method method, Class<?> domainType) {
+        Class<?> returnType = method.getReturnType();
+        if (method.isAnnotationPresent(Modifying.class)
+                || method.isAnnotationPresent(Lock.class)
+                || method.isAnnotationPresent(Async.class)
+                || Page.class.isAssignableFrom(returnType)
+                || Stream.class.isAssignableFrom(returnType)
+                || Future.class.isAssignableFrom(returnType)) {
+            return false;
+        }
+        try {
+            return !new PartTree(method.getName(), domainType).isDelete();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private Object defaultValue(Class<?> type) {
+        if (type == String.class) {
+            return "";
+        }
+        if (type == int.class || type == Integer.class) {
+            return 0;
+        }
+        if (type == long.class || type == Long.class) {
+            return 0L;
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 1);
+        }
+        if (type == Sort.class) {
+            return Sort.unsorted();
+        }
+        return null;
+    }
+
+    private void registerMetrics(Statistics statistics) {
+        FunctionCounter.builder("datajpa.query.plan.cache", statistics, Statistics::getQueryPlanCacheHitCount)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("datajpa.query.plan.cache", statistics, Statistics::getQueryPlanCacheMissCount)
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    static class Result {
+
+        int jpql;
+        int named;
+        int derived;
+        int skipped;
+    }
+}
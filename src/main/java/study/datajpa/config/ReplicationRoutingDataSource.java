@@ -0,0 +1,78 @@
+package study.datajpa.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true), @ReadOnly)은 replica, 나머지는 primary
+ * replica는 primary보다 늦게 반영되므로 쓰기 직후에는 primary에서 읽음
+ * 1. sticky primary: 쓰기 트랜잭션을 커밋한 쓰레드는 stickyWindow 동안 primary에서 읽음 -> 방금 쓴 데이터를 바로 조회
+ * 2. replica lag guard: 어느 쓰레드든 쓰기 트랜잭션을 커밋했으면 maxReplicaLag 동안 모든 읽기를 primary로
+ * 트랜잭션의 readOnly 여부가 정해진 뒤에 커넥션을 가져와야 하므로 LazyConnectionDataSourceProxy로 감싸서 사용
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    //쓰기 트랜잭션 커밋 시각 (쓰레드별)
+    private final ThreadLocal<Long> lastWriteOnThread = new ThreadLocal<>();
+    //현재 트랜잭션에 커밋 콜백을 등록했는지 표시하는 리소스 키 (데이터소스 자체는 트랜잭션 매니저가 키로 사용할 수 있음)
+    private final Object writeRecorded = new Object();
+
+    private final long stickyWindowMillis;
+    private final long maxReplicaLagMillis;
+    private volatile long lastWrite;
+
+    public ReplicationRoutingDataSource(Duration stickyWindow, Duration maxReplicaLag) {
+        this.stickyWindowMillis = stickyWindow.toMillis();
+        this.maxReplicaLagMillis = maxReplicaLag.toMillis();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            //쓰기 트랜잭션만 쓰기로 기록, 트랜잭션 밖(헬스 체크, 시퀀스 조회, 메타데이터 조회 등)은 primary로 보내기만 함
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWriteOnCommit();
+            }
+            return PRIMARY;
+        }
+
+        long now = System.currentTimeMillis();
+        Long threadWrite = lastWriteOnThread.get();
+        if (threadWrite != null && now - threadWrite < stickyWindowMillis) {
+            return PRIMARY;
+        }
+        if (now - lastWrite < maxReplicaLagMillis) {
+            return PRIMARY;
+        }
+        return REPLICA;
+    }
+
+    //replica 반영은 커밋 이후부터 시작 -> 커밋 시각으로 sticky window, lag guard 계산
+    //트랜잭션당 한번만 등록
+    private void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(writeRecorded)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(writeRecorded, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                long now = System.currentTimeMillis();
+                lastWrite = now;
+                lastWriteOnThread.set(now);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(writeRecorded);
+            }
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package study.datajpa.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 샘플 회원 데이터 등록
+ * 기존에는 MemberController 의 @PostConstruct 에서 실행 -> 등록이 끝날 때까지 애플리케이션이 시작되지 않음
+ * 애플리케이션 준비(ApplicationReadyEvent)가 끝난 뒤 별도 쓰레드에서 batch insert
+ * 이미 데이터가 있으면(ddl-auto: none 으로 재시작) 등록하지 않음
+ * datajpa.sample-data.enabled=true 일 때만 동작 -> 테스트에서는 꺼서 테스트 데이터와 섞이지 않도록
+ * http://localhost:8080/members?page=0&size=3&sort=id,desc&sort=userName,desc
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datajpa.sample-data.enabled", havingValue = "true")
+public class SampleDataInitializer {
+
+    private final MemberRepository memberRepository;
+
+    @Async(AsyncConfig.REPOSITORY_EXECUTOR)
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        if (memberRepository.count() > 0) {
+            return;
+        }
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            members.add(new Member("user" + i, i));
+        }
+        int count = memberRepository.saveAllBatched(members);
+        log.info("sample data initialized: members={}", count);
+    }
+}
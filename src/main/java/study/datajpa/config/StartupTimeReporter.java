@@ -0,0 +1,56 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 시작 시간 측정 (JVM 시작 기준)
+ * application.ready.time -> 애플리케이션 준비 완료까지
+ * application.first.request.time -> 첫번째 HTTP 요청의 응답이 끝날 때까지 (지연 초기화까지 포함한 실제 체감 시간)
+ */
+@Slf4j
+@Component
+public class StartupTimeReporter extends OncePerRequestFilter {
+
+    private final long jvmStartTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicLong readyMillis = new AtomicLong();
+    private final AtomicLong firstRequestMillis = new AtomicLong();
+
+    public StartupTimeReporter(MeterRegistry meterRegistry) {
+        TimeGauge.builder("application.ready.time", readyMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .register(meterRegistry);
+        TimeGauge.builder("application.first.request.time", firstRequestMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ready() {
+        readyMillis.set(System.currentTimeMillis() - jvmStartTime);
+        log.info("time to ready: {}ms", readyMillis.get());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+
+        if (firstRequestMillis.get() == 0
+                && firstRequestMillis.compareAndSet(0, System.currentTimeMillis() - jvmStartTime)) {
+            log.info("time to first request: {}ms ({})", firstRequestMillis.get(), request.getRequestURI());
+        }
+    }
+}
@@ -2,19 +2,28 @@ package study.datajpa.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.cache.ResponseCache;
+import study.datajpa.dto.CursorResult;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberCursor;
 import study.datajpa.repository.MemberRepository;
 
-import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
@@ -23,10 +32,31 @@ public class MemberController {
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private ResponseCache responseCache;
+
+    //true -> 목록 조회 시 content, count 쿼리를 동시에 실행
+    @Value("${datajpa.paging.parallel-count:false}")
+    private boolean parallelCount;
+
+    //cursor 페이징도 Pageable과 같은 최대 페이지 사이즈를 사용
+    @Value("${spring.data.web.pageable.max-page-size:2000}")
+    private int maxPageSize;
+
+    //조건부 GET -> 회원 버전(@Version)이 같으면 304, 응답은 서버에서도 캐시
+    //읽기 전용 트랜잭션은 캐시가 없을 때만 ResponseCache 안에서 시작 -> 캐시에 있으면 커넥션을 사용하지 않음
     @GetMapping("/members/{id}")
-    public String findMember(@PathVariable("id") Long id) {
-        Member member = memberRepository.findById(id).get();
-        return member.getUserName();
+    public String findMember(@PathVariable("id") Long id, WebRequest request) {
+        return responseCache.get(request, "member:" + id,
+                () -> memberRepository.findVersionById(id),
+                () -> memberRepository.findById(id).get().getUserName());
+    }
+
+    //CompletableFuture 반환 -> 조회가 끝날 때까지 서블릿 쓰레드를 점유하지 않음
+    @GetMapping("/members/search")
+    public CompletableFuture<List<MemberDto>> search(@RequestParam("userName") String userName) {
+        return memberRepository.findAsyncByUserName(userName)
+                .thenApply(members -> members.stream().map(MemberDto::new).collect(Collectors.toList()));
     }
 
     //domain class converter
@@ -40,20 +70,43 @@ public class MemberController {
         return member.getUserName();
     }
 
+    //조회 전용 트랜잭션 -> 스냅샷, flush 없음 (ResponseCache 안에서 시작)
+    //조건부 GET -> 회원 수, version 합계, 최근 수정일이 같으면 304, 페이지별 응답은 서버에서도 캐시
     @GetMapping("/members")
     public Page<MemberDto> list(@PageableDefault(size = 5, sort = "userName"
-            , direction = Sort.Direction.DESC ) Pageable pageable) {
+            , direction = Sort.Direction.DESC ) Pageable pageable, WebRequest request) {
+        return responseCache.get(request, "members:" + pageable,
+                memberRepository::findListVersion,
+                () -> findPage(pageable));
+    }
+
+    private Page<MemberDto> findPage(Pageable pageable) {
+        if (parallelCount) {
+            return memberRepository.findAllParallel(pageable).map(MemberDto::new);
+        }
         return memberRepository.findAll(pageable).map(MemberDto::new);
     }
 
-    //init 메소드는 WAS가 띄워질 때 실행된다.
-    //객체가 생성된 후 별도의 초기화 작업을 위해 실행하는 메소드
-    //http://localhost:8080/members?page=0&size=3&sort=id,desc&sort=userName,desc
-    @PostConstruct
-    public void init() {
-        for(int i=0 ; i<100 ; i++){
-            memberRepository.save(new Member("user" + i, i));
+    //keyset 페이징 -> cursor 파라미터가 있으면 이 메서드로 매핑됨
+    //첫 페이지는 빈 cursor로 요청, 이후에는 응답의 nextCursor를 그대로 전달
+    //http://localhost:8080/members?cursor=&size=5
+    //size는 1 이상, 최대 페이지 사이즈보다 크면 최대값으로 조회 (Pageable과 동일)
+    //잘못된 size, cursor -> 400
+    @GetMapping(value = "/members", params = "cursor")
+    public CursorResult<MemberDto> listByCursor(@RequestParam("cursor") String cursor,
+                                                @RequestParam(value = "size", defaultValue = "5") int size) {
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size는 1 이상이어야 합니다. size = " + size);
+        }
+
+        MemberCursor memberCursor;
+        try {
+            memberCursor = MemberCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
 
+        return CursorResult.of(memberRepository.findByCursor(memberCursor, Math.min(size, maxPageSize)),
+                m -> MemberCursor.of(m).encode(), MemberDto::new);
     }
 }
@@ -0,0 +1,33 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * keyset 페이징 응답
+ * 전체 count, 페이지 번호 대신 다음 페이지를 조회할 cursor 토큰만 내려준다
+ */
+@Getter
+public class CursorResult<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public CursorResult(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public static <S, T> CursorResult<T> of(Slice<S> slice, Function<S, String> cursorMapper, Function<S, T> converter) {
+        List<S> content = slice.getContent();
+        String nextCursor = slice.hasNext() ? cursorMapper.apply(content.get(content.size() - 1)) : null;
+        List<T> converted = content.stream().map(converter).collect(Collectors.toList());
+        return new CursorResult<>(converted, nextCursor, slice.hasNext());
+    }
+}
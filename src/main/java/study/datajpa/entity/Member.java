@@ -1,24 +1,52 @@
 package study.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "userName", "age"})
 @NamedQuery(
         name = "Member.findByUserName",
-        query = "select m from Member m where m.userName = :userName"
+        query = "select m from Member m where m.userName = :userName",
+        hints = @QueryHint(name = "org.hibernate.cacheable", value = "true")   //쿼리 캐시
 )
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+//리포지토리 쿼리 조건에 맞춘 인덱스 (RepositoryIndexAdvisor 가 누락 여부 확인)
+//user_name, age, team_id -> userName 조건 + age 조건/범위, userName 목록과 MemberDto 조회는 테이블을 읽지 않음 (커버링)
+//age -> 나이 조건 조회, count, 벌크 수정
+//last_modified_date -> 목록 ETag 계산 시 max(수정일)
+@Table(indexes = {
+        @Index(name = "idx_member_user_name_age_team", columnList = "user_name, age, team_id"),
+        @Index(name = "idx_member_age", columnList = "age"),
+        @Index(name = "idx_member_last_modified_date", columnList = "last_modified_date")
+})
 public class Member extends BaseEntity {
 
-    @Id @GeneratedValue
+    //IDENTITY는 insert를 해야 id를 알 수 있어서 jdbc batch insert가 불가능
+    //sequence + allocation size -> 한번의 시퀀스 호출로 id를 미리 확보하고 insert는 batch로 모아서 실행
+    //확보한 id 블록은 LockFreePooledLoOptimizer 가 락 없이 나눠줌
+    @Id
+    @GeneratedValue(generator = "member_seq_generator")
+    @GenericGenerator(name = "member_seq_generator", strategy = "study.datajpa.entity.id.PooledSequenceGenerator",
+            parameters = @Parameter(name = "sequence_name", value = "member_seq"))
     @Column(name = "member_id")
     private Long id;
+
+    //낙관적 락 -> 수정 시 where version = ? 조건, 다른 트랜잭션이 먼저 수정했으면 OptimisticLockException
+    //비관적 락(findLockByUserName) 처럼 row를 잠그고 기다리지 않음 -> 충돌 시 재시도(@RetryOnConflict)
+    @Version
+    private Long version;
+
     private String userName;
     private int age;
 
@@ -1,22 +1,43 @@
 package study.datajpa.entity;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)   //2차 캐시 -> em.find()는 DB 대신 캐시에서 조회
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
 public class Team extends BaseEntity {
 
-    @Id @GeneratedValue
+    //Member와 동일하게 sequence 전략 -> batch insert 가능
+    @Id
+    @GeneratedValue(generator = "team_seq_generator")
+    @GenericGenerator(name = "team_seq_generator", strategy = "study.datajpa.entity.id.PooledSequenceGenerator",
+            parameters = @Parameter(name = "sequence_name", value = "team_seq"))
     @Column(name = "team_id")
     private Long id;
+
+    @Version
+    private Long version;
+
     private String name;
 
+    //컬렉션은 id 목록만 캐시 -> 회원 엔티티도 캐시되어 있어야 효과가 있음
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    //팀 목록을 조회한 쿼리를 서브쿼리로 사용해서 모든 팀의 회원을 한번에 조회
+    //-> 팀이 몇 개든 members 초기화는 쿼리 1번 (batch size 제한도 없음)
+    @Fetch(FetchMode.SUBSELECT)
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
@@ -0,0 +1,89 @@
+package study.datajpa.entity.id;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AbstractOptimizer;
+import org.hibernate.id.enhanced.AccessCallback;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * pooled-lo 방식의 id 블록 할당기
+ * 시퀀스 값 v 를 받으면 [v, v + incrementSize) 범위를 메모리에서 나눠줌 -> 시퀀스 호출은 incrementSize 개마다 한번
+ * 하이버네이트 기본 pooled 옵티마이저는 id 하나마다 synchronized 라서 insert가 몰리면 쓰레드가 줄을 서게 됨
+ * 여기서는 현재 블록을 AtomicReference로 두고 블록 안의 다음 값은 getAndIncrement 로 가져옴 (락 없음)
+ * 블록이 소진되면 한 쓰레드만 시퀀스를 호출해서 새 블록을 설치, 나머지 쓰레드는 기다렸다가 새 블록에서 가져감
+ * -> 시퀀스 블록을 버리지 않음 (시퀀스 호출 수 = id 개수 / incrementSize)
+ *
+ * 여러 서버, 재시작에도 안전한 이유
+ * -> 블록의 시작값은 항상 DB 시퀀스에서 받아오고, 시퀀스는 increment by incrementSize 로 증가하므로 블록이 겹치지 않음
+ * -> 재시작하면 쓰지 않은 블록의 나머지는 버려짐 (id에 공백은 생기지만 중복은 없음)
+ */
+public class LockFreePooledLoOptimizer extends AbstractOptimizer {
+
+    private final AtomicReference<IdBlock> current = new AtomicReference<>();
+    private final Object refreshLock = new Object();
+    private volatile IntegralDataTypeHolder lastSourceValue;
+
+    //하이버네이트가 optimizer 파라미터의 클래스 이름으로 생성 -> (Class, int) 생성자 필요
+    public LockFreePooledLoOptimizer(Class returnClass, int incrementSize) {
+        super(returnClass, incrementSize);
+    }
+
+    @Override
+    public Serializable generate(AccessCallback callback) {
+        while (true) {
+            IdBlock block = current.get();
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id < block.hi) {
+                    return toIdentifier(id);
+                }
+            }
+            refresh(block, callback);
+        }
+    }
+
+    //블록 소진 -> 시퀀스에서 새 블록을 받아옴
+    //기다리는 동안 다른 쓰레드가 이미 새 블록을 설치했으면 시퀀스를 호출하지 않고 돌아가서 새 블록을 사용
+    private void refresh(IdBlock exhausted, AccessCallback callback) {
+        synchronized (refreshLock) {
+            if (current.get() != exhausted) {
+                return;
+            }
+            IntegralDataTypeHolder sourceValue = callback.getNextValue();
+            long lo = sourceValue.makeValue().longValue();
+            lastSourceValue = sourceValue;
+            current.set(new IdBlock(lo, lo + getIncrementSize()));
+        }
+    }
+
+    private Serializable toIdentifier(long id) {
+        return IdentifierGeneratorHelper.getIntegralDataTypeHolder(getReturnClass())
+                .initialize(id)
+                .makeValue();
+    }
+
+    @Override
+    public IntegralDataTypeHolder getLastSourceValue() {
+        return lastSourceValue;
+    }
+
+    //DB 시퀀스를 incrementSize 만큼 증가시키도록 DDL 생성 (increment by)
+    @Override
+    public boolean applyIncrementSizeToSourceValues() {
+        return true;
+    }
+
+    private static class IdBlock {
+        private final AtomicLong next;
+        private final long hi;
+
+        IdBlock(long lo, long hi) {
+            this.next = new AtomicLong(lo);
+            this.hi = hi;
+        }
+    }
+}
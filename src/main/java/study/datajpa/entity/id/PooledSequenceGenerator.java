@@ -0,0 +1,33 @@
+package study.datajpa.entity.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * 시퀀스 + LockFreePooledLoOptimizer
+ * allocation size(시퀀스 한번에 확보하는 id 개수)는 설정으로 변경 가능
+ * -> spring.jpa.properties.datajpa.id.allocation_size (기본 50, jdbc batch_size와 맞추는 것이 좋음)
+ * -> 엔티티별로 다르게 하려면 @GenericGenerator 파라미터에 increment_size 지정
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE = "datajpa.id.allocation_size";
+    private static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        if (!params.containsKey(INCREMENT_PARAM)) {
+            int allocationSize = serviceRegistry.getService(ConfigurationService.class)
+                    .getSetting(ALLOCATION_SIZE, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+            params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        }
+        params.setProperty(OPT_PARAM, LockFreePooledLoOptimizer.class.getName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
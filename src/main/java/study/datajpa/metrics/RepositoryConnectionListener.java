@@ -0,0 +1,133 @@
+package study.datajpa.metrics;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 커넥션을 어떤 리포지토리 메서드가 사용했는지 집계
+ * 풀 전체 상태(active, idle, pending, acquire 시간)는 hikaricp.connections.* 메트릭 (스프링 부트 자동 등록)
+ * 여기서는 메서드별로
+ * 1. repository.connection.acquire -> 커넥션을 얻기까지 기다린 시간 (풀이 부족하면 늘어남)
+ * 2. repository.connection.usage -> 커넥션을 얻고 반납할 때까지 사용한 시간
+ * 3. repository.connection.leak -> leak-detection-threshold 보다 오래 사용한 횟수 + 경고 로그
+ * 트랜잭션이 리포지토리 밖(@Transactional, @ReadOnly 컨트롤러 등)에서 시작되면 커넥션을 처음 사용한 리포지토리 메서드로 집계
+ * replica 설정 시(ReplicationDataSourceConfig) p6spy는 LazyConnectionDataSourceProxy를 감쌈
+ * -> getConnection 이 풀을 거치지 않고 바로 반환되므로 acquire는 기록하지 않음, 풀별 대기 시간은 hikaricp.connections.acquire(pool 태그)
+ * -> usage도 실제 커넥션이 아닌 논리 커넥션(트랜잭션 시작 ~ 종료) 기준
+ */
+@Slf4j
+@Component
+public class RepositoryConnectionListener extends SimpleJdbcEventListener {
+
+    private static final String NONE = "none";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final long leakThresholdNanos;
+    private final boolean recordAcquire;
+    private final Map<ConnectionInformation, Lease> leases = new ConcurrentHashMap<>();
+
+    public RepositoryConnectionListener(MeterRegistry meterRegistry,
+                                        @Value("${spring.datasource.hikari.leak-detection-threshold:0}") long leakThresholdMillis,
+                                        @Value("${datajpa.datasource.replica.url:}") String replicaUrl) {
+        this.meterRegistry = meterRegistry;
+        this.leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(leakThresholdMillis);
+        this.recordAcquire = replicaUrl.isEmpty();
+
+        //지금 threshold 보다 오래 사용 중인 커넥션 수 -> 반납되지 않는 커넥션도 확인 가능
+        Gauge.builder("repository.connection.leak.suspected", leases, l -> countSuspected())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+        if (e != null) {
+            return;
+        }
+        RepositoryInvocation invocation = RepositoryInvocation.current();
+        leases.put(connectionInformation, new Lease(invocation == null ? null : invocation.getMethod(),
+                Thread.currentThread().getName(), connectionInformation.getTimeToGetConnectionNs()));
+    }
+
+    //커넥션을 얻을 때 리포지토리 밖이었으면 처음 SQL을 실행한 리포지토리 메서드로 기록
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        Lease lease = leases.get(statementInformation.getConnectionInformation());
+        RepositoryInvocation invocation = RepositoryInvocation.current();
+        if (lease != null && lease.method == null && invocation != null) {
+            lease.method = invocation.getMethod();
+        }
+    }
+
+    @Override
+    public void onAfterConnectionClose(ConnectionInformation connectionInformation, SQLException e) {
+        Lease lease = leases.remove(connectionInformation);
+        if (lease == null) {
+            return;
+        }
+        String method = lease.method == null ? NONE : lease.method;
+        long usedNanos = System.nanoTime() - lease.startNanos;
+
+        if (recordAcquire) {
+            timer("repository.connection.acquire", method).record(lease.acquireNanos, TimeUnit.NANOSECONDS);
+        }
+        timer("repository.connection.usage", method).record(usedNanos, TimeUnit.NANOSECONDS);
+
+        if (isLeakSuspected(lease, System.nanoTime())) {
+            Counter.builder("repository.connection.leak")
+                    .tag("method", method)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("connection held for {}ms by {} on thread {}",
+                    TimeUnit.NANOSECONDS.toMillis(usedNanos), method, lease.thread);
+        }
+    }
+
+    private long countSuspected() {
+        long now = System.nanoTime();
+        return leases.values().stream().filter(lease -> isLeakSuspected(lease, now)).count();
+    }
+
+    private boolean isLeakSuspected(Lease lease, long now) {
+        return leakThresholdNanos > 0 && now - lease.startNanos > leakThresholdNanos;
+    }
+
+    private Timer timer(String name, String method) {
+        return Timer.builder(name)
+                .tag("method", method)
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    //커넥션 하나를 빌린 기록
+    private static class Lease {
+
+        private final String thread;
+        private final long acquireNanos;
+        private final long startNanos = System.nanoTime();
+        private volatile String method;
+
+        Lease(String method, String thread, long acquireNanos) {
+            this.method = method;
+            this.thread = thread;
+            this.acquireNanos = acquireNanos;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package study.datajpa.metrics;
+
+import lombok.Getter;
+
+/**
+ * 리포지토리 메서드 한번 호출 동안 발생한 JDBC 작업 집계
+ * 현재 스레드에 바인딩 -> p6spy 리스너가 여기에 누적
+ */
+@Getter
+public class RepositoryInvocation {
+
+    private static final ThreadLocal<RepositoryInvocation> CURRENT = new ThreadLocal<>();
+
+    private final String method;
+    private int statementCount;
+    private long rowCount;
+    private long jdbcNanos;
+
+    private RepositoryInvocation(String method) {
+        this.method = method;
+    }
+
+    //리포지토리 안에서 다른 리포지토리를 호출하면 바깥 호출에 합산
+    static RepositoryInvocation start(String method) {
+        if (CURRENT.get() != null) {
+            return null;
+        }
+        RepositoryInvocation invocation = new RepositoryInvocation(method);
+        CURRENT.set(invocation);
+        return invocation;
+    }
+
+    static RepositoryInvocation current() {
+        return CURRENT.get();
+    }
+
+    void end() {
+        CURRENT.remove();
+    }
+
+    void addStatement(long nanos) {
+        statementCount++;
+        jdbcNanos += nanos;
+    }
+
+    void addRow(long nanos) {
+        rowCount++;
+        jdbcNanos += nanos;
+    }
+}
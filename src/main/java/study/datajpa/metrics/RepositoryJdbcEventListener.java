@@ -0,0 +1,34 @@
+package study.datajpa.metrics;
+
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+/**
+ * p6spy 이벤트를 현재 리포지토리 호출에 누적
+ * 로그 대신 숫자만 세기 때문에 org.hibernate.SQL 로그를 켜지 않아도 됨
+ * p6spy-spring-boot-starter가 JdbcEventListener 빈을 자동으로 등록
+ */
+@Component
+public class RepositoryJdbcEventListener extends SimpleJdbcEventListener {
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        RepositoryInvocation invocation = RepositoryInvocation.current();
+        if (invocation != null) {
+            invocation.addStatement(timeElapsedNanos);
+        }
+    }
+
+    //ResultSet.next() 도 드라이버가 row를 가져오는 JDBC 시간
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos, boolean hasNext, SQLException e) {
+        RepositoryInvocation invocation = RepositoryInvocation.current();
+        if (invocation != null && hasNext) {
+            invocation.addRow(timeElapsedNanos);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package study.datajpa.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포지토리 메서드별 SQL 실행 수, 조회 row 수, JDBC 시간, 엔티티 변환 시간 측정
+ * 엔티티 변환(hydration) 시간 = 전체 시간 - JDBC 시간 (영속성 컨텍스트 처리, 프록시 생성 등 포함)
+ * /actuator/metrics/repository.* 에서 method 태그로 조회 -> N+1, 느린 쿼리 확인
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    //스프링 데이터 JPA 리포지토리 + 순수 JPA 리포지토리(@Repository)
+    @Around("this(org.springframework.data.repository.Repository) || @within(org.springframework.stereotype.Repository)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = repositoryName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName();
+        RepositoryInvocation invocation = RepositoryInvocation.start(method);
+        if (invocation == null) {
+            return joinPoint.proceed();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            invocation.end();
+            record(invocation, elapsed);
+        }
+    }
+
+    private void record(RepositoryInvocation invocation, long elapsedNanos) {
+        String method = invocation.getMethod();
+
+        timer("repository.invocation", method).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        timer("repository.jdbc", method).record(invocation.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        timer("repository.hydration", method)
+                .record(Math.max(0, elapsedNanos - invocation.getJdbcNanos()), TimeUnit.NANOSECONDS);
+        summary("repository.statements", method).record(invocation.getStatementCount());
+        summary("repository.rows", method).record(invocation.getRowCount());
+    }
+
+    private Timer timer(String name, String method) {
+        return Timer.builder(name)
+                .tag("method", method)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    private DistributionSummary summary(String name, String method) {
+        return DistributionSummary.builder(name)
+                .tag("method", method)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    //스프링 데이터 JPA 프록시는 인터페이스 이름(MemberRepository)으로 표시
+    private String repositoryName(Object target) {
+        return repositoryNames.computeIfAbsent(target.getClass(), type -> {
+            for (Class<?> ifc : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (ifc.getName().startsWith("study.datajpa.repository")
+                        && org.springframework.data.repository.Repository.class.isAssignableFrom(ifc)) {
+                    return ifc.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(type).getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 청크 단위 벌크 업데이트 진행 상태
+ * 중간에 실패하면 lastId 부터 다시 실행 -> 이미 커밋된 청크는 다시 수정하지 않음
+ */
+@Getter
+@ToString
+public class BulkUpdateProgress {
+
+    private final long lastId;          //처리가 끝난 마지막 id (이 값까지 커밋됨)
+    private final long maxId;           //시작 시점의 최대 id
+    private final long updatedCount;    //지금까지 수정된 row 수
+
+    public BulkUpdateProgress(long lastId, long maxId, long updatedCount) {
+        this.lastId = lastId;
+        this.maxId = maxId;
+        this.updatedCount = updatedCount;
+    }
+
+    BulkUpdateProgress next(long lastId, int updated) {
+        return new BulkUpdateProgress(lastId, maxId, updatedCount + updated);
+    }
+
+    public boolean isDone() {
+        return lastId >= maxId;
+    }
+}
@@ -0,0 +1,17 @@
+package study.datajpa.repository;
+
+/**
+ * Page 반환 시 total count를 구하는 방식
+ * 어떤 방식이든 마지막 페이지이거나 첫 페이지가 다 차지 않으면 count 쿼리를 생략한다
+ */
+public enum CountMode {
+
+    //매번 count 쿼리 실행 -> 정확하지만 데이터가 많으면 content 조회보다 비쌀 수 있음
+    EXACT,
+
+    //count 결과를 일정 시간(TTL) 동안 재사용 -> 그 사이의 등록/삭제는 반영되지 않음
+    CACHED,
+
+    //DB 통계 정보의 추정치 사용 -> 조건(where)이 없는 전체 count에만 의미가 있음
+    ESTIMATED
+}
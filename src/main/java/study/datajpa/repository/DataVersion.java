@@ -0,0 +1,41 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 조회 결과가 바뀌었는지 판단하는 값 -> HTTP ETag, Last-Modified
+ * 단건 -> @Version, 목록 -> 회원 수 + version 합계 + 최근 수정일
+ */
+@Getter
+public class DataVersion {
+
+    private final String etag;
+    private final LocalDateTime lastModified;
+
+    //JPQL new 로 생성 (단건)
+    public DataVersion(Long version, LocalDateTime lastModified) {
+        this("v" + version, lastModified);
+    }
+
+    private DataVersion(String etag, LocalDateTime lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public static DataVersion of(long count, long versionSum, LocalDateTime lastModified) {
+        return new DataVersion(count + "-" + versionSum + "-" + (lastModified == null ? 0 : toMillis(lastModified)),
+                lastModified);
+    }
+
+    //Last-Modified 헤더 값, 없으면 -1 (헤더 생략)
+    public long getLastModifiedMillis() {
+        return lastModified == null ? -1 : toMillis(lastModified);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
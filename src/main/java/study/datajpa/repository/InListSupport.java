@@ -0,0 +1,90 @@
+package study.datajpa.repository;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.config.AsyncConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 큰 in 절 조회
+ * 1. chunk-size 이하 -> 쿼리 한번
+ *    하이버네이트가 in 파라미터 개수를 2의 거듭제곱으로 채움(in_clause_parameter_padding)
+ *    -> 목록 크기마다 다른 SQL이 만들어지지 않아 statement, 쿼리 플랜 캐시를 재사용
+ * 2. chunk-size 초과 -> 나눠서 조회 후 합침 (드라이버/DB 파라미터 개수 제한)
+ *    트랜잭션 밖에서 호출하면 리포지토리 실행기에서 동시에 실행, 반환된 엔티티는 준영속 상태
+ *    트랜잭션 안에서 호출하면 영속성 컨텍스트를 유지하기 위해 순서대로 실행
+ *    리포지토리 실행기 쓰레드에서 호출해도 순서대로 실행 -> 실행기 쓰레드가 모두 자기 작업을 기다리는 상황(deadlock) 방지
+ * 3. array-bind-threshold 초과 -> 목록을 배열 파라미터 하나로 바인딩 (SQL이 하나), 0이면 사용 안 함
+ */
+@Component
+public class InListSupport {
+
+    private final Executor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+    private final int arrayBindThreshold;
+
+    public InListSupport(@Qualifier(AsyncConfig.REPOSITORY_EXECUTOR) Executor executor,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${datajpa.in-list.chunk-size:1000}") int chunkSize,
+                         @Value("${datajpa.in-list.array-bind-threshold:0}") int arrayBindThreshold) {
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+        this.arrayBindThreshold = arrayBindThreshold;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public boolean isArrayBind(int size) {
+        return arrayBindThreshold > 0 && size > arrayBindThreshold;
+    }
+
+    //중복 값을 제거하고 chunk-size 씩 query 실행
+    public <V, T> List<T> query(Collection<V> values, Function<List<V>, List<T>> query) {
+        List<V> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        if (distinct.isEmpty()) {
+            return new ArrayList<>();
+        }
+        if (distinct.size() <= chunkSize) {
+            return query.apply(distinct);
+        }
+
+        List<List<V>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            chunks.add(distinct.subList(from, Math.min(from + chunkSize, distinct.size())));
+        }
+
+        if (TransactionSynchronizationManager.isActualTransactionActive() || AsyncConfig.isRepositoryThread()) {
+            return chunks.stream()
+                    .flatMap(chunk -> query.apply(chunk).stream())
+                    .collect(Collectors.toList());
+        }
+
+        List<CompletableFuture<List<T>>> futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(
+                        () -> readOnlyTransaction.execute(status -> query.apply(chunk)), executor))
+                .collect(Collectors.toList());
+
+        List<T> result = new ArrayList<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            result.addAll(ParallelPageSupport.join(future));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 쿼리 하나에 필요한 인덱스
+ * 1. 동등 조건(=, in) 컬럼 -> 순서 상관없이 인덱스 앞쪽
+ * 2. 범위 조건(>, <, like ..) 컬럼 -> 동등 조건 다음 하나만 (그 뒤 컬럼은 인덱스로 범위를 좁힐 수 없음)
+ * 3. 조회 컬럼 -> 인덱스에 포함되면 테이블을 읽지 않음 (커버링 인덱스)
+ */
+@Getter
+public class IndexSuggestion {
+
+    private final String source;
+    private final String table;
+    private final Set<String> equalityColumns;
+    private final String rangeColumn;
+    private final Set<String> includeColumns;
+
+    IndexSuggestion(String source, String table, Set<String> equalityColumns, String rangeColumn, Set<String> includeColumns) {
+        this.source = source;
+        this.table = table;
+        this.equalityColumns = equalityColumns;
+        this.rangeColumn = rangeColumn;
+        this.includeColumns = includeColumns;
+    }
+
+    public boolean isCovering() {
+        return !includeColumns.isEmpty();
+    }
+
+    public List<String> getColumns() {
+        Set<String> columns = new LinkedHashSet<>(equalityColumns);
+        if (rangeColumn != null) {
+            columns.add(rangeColumn);
+        }
+        columns.addAll(includeColumns);
+        return new ArrayList<>(columns);
+    }
+
+    //인덱스 컬럼 순서로 이 쿼리를 처리할 수 있는지
+    public boolean isSatisfiedBy(List<String> indexColumns) {
+        int equalityCount = equalityColumns.size();
+        if (indexColumns.size() < equalityCount) {
+            return false;
+        }
+        if (!new HashSet<>(indexColumns.subList(0, equalityCount)).equals(equalityColumns)) {
+            return false;
+        }
+        if (rangeColumn != null && (indexColumns.size() <= equalityCount || !indexColumns.get(equalityCount).equals(rangeColumn))) {
+            return false;
+        }
+        return indexColumns.containsAll(includeColumns);
+    }
+
+    public String toDdl() {
+        List<String> columns = getColumns();
+        return "create index idx_" + table + "_" + String.join("_", columns)
+                + " on " + table + " (" + String.join(", ", columns) + ")";
+    }
+
+    @Override
+    public String toString() {
+        return source + " -> " + table + getColumns() + (isCovering() ? " covering" : "");
+    }
+}
@@ -0,0 +1,17 @@
+package study.datajpa.repository;
+
+import java.util.List;
+
+/**
+ * 식별자를 직접 할당하는 엔티티의 등록 전용 저장
+ * save()는 식별자가 있으면 merge()를 호출 -> insert 전에 select 가 한번 더 실행됨
+ * saveNew()는 항상 persist() -> select 없이 insert, 같은 id가 있으면 DuplicateKeyException
+ * 스프링 데이터 JPA 리포지토리에 fragment 로 추가해서 사용 (ItemRepository 참고)
+ */
+public interface InsertOnlyRepository<T> {
+
+    <S extends T> S saveNew(S entity);
+
+    //hibernate.jdbc.batch_size 단위로 insert batch 전송
+    <S extends T> List<S> saveAllNew(Iterable<S> entities);
+}
@@ -0,0 +1,99 @@
+package study.datajpa.repository;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.audit.AuditClock;
+
+import javax.persistence.EntityExistsException;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class InsertOnlyRepositoryImpl<T> implements InsertOnlyRepository<T> {
+
+    //H2, PostgreSQL 등 표준 SQLState -> unique 제약 조건 위반
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    //flush 까지 해야 insert가 실행되고 중복 키 오류를 여기서 확인할 수 있음
+    @Override
+    @Transactional
+    public <S extends T> S saveNew(S entity) {
+        try {
+            em.persist(entity);
+            em.flush();
+            return entity;
+        } catch (PersistenceException e) {
+            throw translate(e, entity);
+        }
+    }
+
+    //batch 단위로 flush 후 해당 엔티티만 detach -> 호출한 쪽의 다른 엔티티는 영속 상태 유지
+    @Override
+    @Transactional
+    public <S extends T> List<S> saveAllNew(Iterable<S> entities) {
+        return AuditClock.batch(() -> {
+            int batchSize = batchSize();
+            List<S> result = new ArrayList<>();
+            List<S> batch = new ArrayList<>(batchSize);
+
+            for (S entity : entities) {
+                try {
+                    em.persist(entity);
+                } catch (PersistenceException e) {
+                    throw translate(e, entity);
+                }
+                batch.add(entity);
+                result.add(entity);
+
+                if (batch.size() == batchSize) {
+                    flushAndDetach(batch);
+                }
+            }
+            flushAndDetach(batch);
+            return result;
+        });
+    }
+
+    private <S extends T> void flushAndDetach(List<S> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            em.flush();
+        } catch (PersistenceException e) {
+            throw translate(e, batch.get(0));
+        }
+        batch.forEach(em::detach);
+        batch.clear();
+    }
+
+    private RuntimeException translate(PersistenceException e, Object entity) {
+        if (e instanceof EntityExistsException || isUniqueViolation(e)) {
+            //batch insert 중에는 어떤 엔티티가 중복인지 알 수 없으므로 batch의 첫번째 엔티티로 표시
+            return new DuplicateKeyException("이미 존재하는 엔티티입니다. entity = "
+                    + entity.getClass().getSimpleName() + "#" + identifier(entity), e);
+        }
+        return e;
+    }
+
+    private boolean isUniqueViolation(PersistenceException e) {
+        Throwable cause = e.getCause();
+        return cause instanceof ConstraintViolationException
+                && UNIQUE_VIOLATION.equals(((ConstraintViolationException) cause).getSQLState());
+    }
+
+    private Object identifier(Object entity) {
+        return em.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }
+
+    private int batchSize() {
+        Object batchSize = em.getEntityManagerFactory().getProperties().get("hibernate.jdbc.batch_size");
+        return batchSize == null ? 50 : Integer.parseInt(batchSize.toString());
+    }
+}
@@ -0,0 +1,134 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.audit.AuditClock;
+import study.datajpa.entity.Member;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 청크 단위 벌크 업데이트
+ * MemberRepository.bulkAgePlus 는 한번의 update로 전체 row에 락을 걸고, 영속성 컨텍스트를 통째로 비운다(clearAutomatically)
+ * 1. id 범위로 나눠서 청크마다 별도 트랜잭션(REQUIRES_NEW)으로 커밋 -> 락을 짧게 유지
+ * 2. 실제로 수정된 회원만 1차 캐시(호출한 쪽의 영속성 컨텍스트), 2차 캐시에서 제거
+ * 하이버네이트 벌크 연산(JPQL update)은 Member 2차 캐시 region 전체를 비우므로 JDBC로 직접 실행
+ * 주의: 청크 트랜잭션은 별도 커넥션을 사용 -> 바깥 트랜잭션에서 수정 중인 회원이 있으면 락 대기가 생길 수 있음
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberBulkUpdater {
+
+    private final EntityManagerFactory emf;
+    private final PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    public BulkUpdateProgress bulkAgePlus(int age, int chunkSize) {
+        return bulkAgePlus(age, chunkSize, 0L, progress -> { });
+    }
+
+    /**
+     * 호출한 쪽의 영속성 컨텍스트에서 수정된 회원은 detach 된다
+     * -> 그 회원에 flush 하지 않은 변경이 있으면 버려짐, 먼저 커밋하고 호출
+     * (flush만 하면 바깥 트랜잭션이 row 락을 잡고 있어서 청크 트랜잭션이 락 대기)
+     * @param chunkSize    한 트랜잭션에서 처리할 id 범위, 1 이상
+     * @param startAfterId 이 id 이후부터 처리 -> 이전 실행의 BulkUpdateProgress.getLastId() 를 넘기면 이어서 실행
+     * @param listener     청크가 커밋될 때마다 진행 상태 전달
+     */
+    public BulkUpdateProgress bulkAgePlus(int age, int chunkSize, long startAfterId,
+                                          Consumer<BulkUpdateProgress> listener) {
+        //0 이하이면 진행되지 않고 무한 반복
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize는 1 이상이어야 합니다. chunkSize = " + chunkSize);
+        }
+
+        //호출한 쪽에서 사용 중인 영속성 컨텍스트 -> 없으면 null
+        EntityManager callerEm = EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Long maxId = chunkTransaction.execute(status ->
+                em.createQuery("select max(m.id) from Member m", Long.class).getSingleResult());
+        BulkUpdateProgress progress = new BulkUpdateProgress(startAfterId, maxId == null ? startAfterId : maxId, 0);
+
+        while (!progress.isDone()) {
+            long from = progress.getLastId();
+            long to = Math.min(from + chunkSize, progress.getMaxId());
+
+            List<Long> ids = chunkTransaction.execute(status -> agePlus(age, from, to));
+            evict(callerEm, ids);
+
+            progress = progress.next(to, ids.size());
+            listener.accept(progress);
+        }
+        return progress;
+    }
+
+    //대상 row를 select for update 로 잠그고 id로 update -> 수정된 id를 정확히 알 수 있음
+    private List<Long> agePlus(int age, long from, long to) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            List<Long> ids = new ArrayList<>();
+            try (PreparedStatement select = connection.prepareStatement(
+                    "select member_id from member where member_id > ? and member_id <= ? and age >= ? for update")) {
+                select.setLong(1, from);
+                select.setLong(2, to);
+                select.setInt(3, age);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong(1));
+                    }
+                }
+            }
+
+            if (ids.isEmpty()) {
+                return ids;
+            }
+
+            String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            try (PreparedStatement update = connection.prepareStatement(
+                    "update member set age = age + 1, version = version + 1, last_modified_date = ?" +
+                            " where member_id in (" + placeholders + ")")) {
+                update.setTimestamp(1, Timestamp.valueOf(AuditClock.now()));
+                for (int i = 0; i < ids.size(); i++) {
+                    update.setLong(i + 2, ids.get(i));
+                }
+                update.executeUpdate();
+            }
+            return ids;
+        });
+    }
+
+    private void evict(EntityManager callerEm, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        for (Long id : ids) {
+            emf.getCache().evict(Member.class, id);
+            if (callerEm != null) {
+                //이미 영속 상태면 그 엔티티를, 아니면 프록시를 반환 -> 둘 다 detach 하면 됨
+                callerEm.detach(callerEm.getReference(Member.class, id));
+            }
+        }
+        //JDBC로 직접 수정했으므로 하이버네이트가 쿼리 캐시를 무효화하지 못함
+        emf.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+    }
+}
@@ -0,0 +1,57 @@
+package study.datajpa.repository;
+
+import lombok.Getter;
+import study.datajpa.entity.Member;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * keyset(seek) 페이징의 기준점
+ * 마지막으로 읽은 회원의 (userName, id)를 기억하고 다음 페이지는 그 이후부터 조회
+ * offset 방식과 달리 앞쪽 row를 읽고 버리지 않으므로 페이지 번호와 상관없이 비용이 같다
+ */
+@Getter
+public class MemberCursor {
+
+    private static final String DELIMITER = ":";
+
+    private final String userName;
+    private final Long id;
+
+    public MemberCursor(String userName, Long id) {
+        this.userName = userName;
+        this.id = id;
+    }
+
+    public static MemberCursor of(Member member) {
+        return new MemberCursor(member.getUserName(), member.getId());
+    }
+
+    //클라이언트에는 내부 구조를 노출하지 않는 토큰으로 전달
+    //userName에 구분자가 들어갈 수 있으므로 id를 앞에 둔다
+    //userName이 null이면 구분자 없이 id만 -> 빈 문자열 userName과 구분
+    public String encode() {
+        String raw = userName == null ? String.valueOf(id) : id + DELIMITER + userName;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //빈 토큰 -> 첫 페이지
+    public static MemberCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.indexOf(DELIMITER);
+            if (index < 0) {
+                return new MemberCursor(null, Long.valueOf(raw));
+            }
+            return new MemberCursor(raw.substring(index + 1), Long.valueOf(raw.substring(0, index)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다. cursor = " + token, e);
+        }
+    }
+}
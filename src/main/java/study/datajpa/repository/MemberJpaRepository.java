@@ -2,12 +2,14 @@ package study.datajpa.repository;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import study.datajpa.audit.AuditClock;
 import study.datajpa.entity.Member;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public class MemberJpaRepository {
@@ -30,6 +32,12 @@ public class MemberJpaRepository {
                 .getResultList();
     }
 
+    //findAll 의 stream 버전 -> 전체 데이터를 한번에 메모리에 올리지 않음
+    public Stream<Member> streamAll(int fetchSize) {
+        return QueryStreams.detachingStream(em,
+                em.createQuery("select m from Member m", Member.class), fetchSize);
+    }
+
     public Optional<Member> findById(Long id) {
 
         Member member = em.find(Member.class, id);
@@ -85,8 +93,9 @@ public class MemberJpaRepository {
      */
     public int bulkAgePlus(int age) {
         return em.createQuery(
-                "update Member m set m.age = m.age + 1" +
+                "update Member m set m.age = m.age + 1, m.version = m.version + 1, m.lastModifiedDate = :now" +
                         " where m.age >= :age")
+                .setParameter("now", AuditClock.now())
                 .setParameter("age", age)
                 .executeUpdate();
     }
@@ -6,14 +6,17 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.scheduling.annotation.Async;
+import study.datajpa.config.AsyncConfig;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 
 public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepositoryCustom, JpaSpecificationExecutor<Member> {
@@ -41,19 +44,33 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
     @Query("select m.userName from Member m")
     List<String> findUserNameList();
 
+    //대량 조회 -> Stream 반환 시 스프링 데이터 JPA가 스크롤로 조회
+    //트랜잭션 안에서 사용하고 close 해야 함
+    @QueryHints(value = @QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("select m.userName from Member m")
+    Stream<String> streamUserNameList();
+
     //dto 조회 -> new 사용(전체 경로)
     @Query("select new study.datajpa.dto.MemberDto(m.id, m.userName, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
-    //파라미터 바인딩 -> 리스트 in절로
-    @Query("select m from Member m where m.userName in :names")
-    List<Member> findByNames(@Param("names") Collection<String> names);
+    //ETag, Last-Modified 계산 -> 엔티티를 만들지 않고 버전, 수정일만 조회
+    @Query("select new study.datajpa.repository.DataVersion(m.version, m.lastModifiedDate) from Member m where m.id = :id")
+    DataVersion findVersionById(@Param("id") Long id);
 
     //반환 타입
     List<Member> findListByUserName(String userName);   //컬렉션
     Member findMemberByUserName(String userName);   //단건
     Optional<Member> findOptionalByUserName(String userName);   //optioanl
 
+    //비동기 조회 -> 별도 쓰레드, 별도 트랜잭션에서 실행되므로 반환된 엔티티는 준영속 상태 (지연 로딩 불가)
+    //호출한 쓰레드는 블로킹 되지 않고 여러 조회를 동시에 실행할 수 있음
+    @Async(AsyncConfig.REPOSITORY_EXECUTOR)
+    CompletableFuture<List<Member>> findAsyncByUserName(String userName);
+
+    @Async(AsyncConfig.REPOSITORY_EXECUTOR)
+    CompletableFuture<Long> countAsyncByAge(int age);
+
     //페이징
     //추가적인 기능들에 대한 사용 여부는 리턴 타입에 따라 결정됨
     //count쿼리에 대한 별도의 최적화가 필요한 경우 직접 작성
@@ -69,8 +86,10 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
 
     //bulkupdate
     //@Modifying이 있어야 JPA excuteUpdate()가 실행됨
+    //벌크 연산은 @Version, 수정일(auditing)을 자동으로 바꾸지 않음 -> 직접 변경 (수정일은 ETag 계산에 사용)
     @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    @Query("update Member m set m.age = m.age + 1, m.version = m.version + 1," +
+            " m.lastModifiedDate = :#{T(study.datajpa.audit.AuditClock).now()} where m.age >= :age")
     int bulkAgePlus(@Param("age") int age);
 
     //fetch join
@@ -95,6 +114,8 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
     List<Member> findEntityGraph2ByUserName(@Param("userName") String userName);
 
     //query hints
+    //@ReadOnly -> 읽기 전용 트랜잭션, replica 설정 시 replica에서 조회
+    @ReadOnly
     @QueryHints( value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findReadOnlyByUserName(String userName);
 
@@ -103,7 +124,10 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
     List<Member> findLockByUserName(String userName);
 
     //projection
-    List<UserNameOnly> findProjectionsByUserName(String userName);
+    //계산에 필요한 컬럼만 alias로 조회 -> 인터페이스 getter 이름과 alias를 맞춤
+    @Query("select m.userName as userName, m.age as age, t.name as teamName" +
+            " from Member m left join m.team t where m.userName = :userName")
+    List<UserNameOnly> findProjectionsByUserName(@Param("userName") String userName);
 
     //projection
     <T> List<T> findProjectionsDtoByUserName(String userName, Class<T> type);
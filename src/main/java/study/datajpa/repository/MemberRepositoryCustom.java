@@ -1,10 +1,57 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
+
+    //파라미터 바인딩 -> 리스트 in절로
+    //목록이 크면 나눠서 조회하거나 배열 파라미터로 바인딩 (InListSupport)
+    List<Member> findByNames(Collection<String> names);
+
+    //회원 목록의 ETag, Last-Modified 계산 -> 회원 수 + version 합계 + 최근 수정일
+    DataVersion findListVersion();
+
+    //keyset 페이징 -> (userName desc nulls last, id desc) 기준으로 cursor 이후의 회원을 조회
+    //cursor가 null이면 첫 페이지, size가 1보다 작으면 IllegalArgumentException
+    Slice<Member> findByCursor(MemberCursor cursor, int size);
+
+    //count 전략을 선택할 수 있는 페이징 -> findByAge, findByNativeProjection 의 count 쿼리 비용을 줄이기 위함
+    //age 조건이 있으므로 테이블 통계 추정치는 맞지 않음 -> ESTIMATED 는 EXACT 로 실행
+    Page<Member> findPageByAge(int age, Pageable pageable, CountMode countMode);
+
+    Page<MemberDto> findMemberDtoPage(Pageable pageable, CountMode countMode);
+
+    //content, count 쿼리를 별도 커넥션에서 동시에 실행 -> findAll(pageable), findByAge 의 병렬 버전
+    Page<Member> findAllParallel(Pageable pageable);
+
+    Page<Member> findByAgeParallel(int age, Pageable pageable);
+
+    //대량 등록 -> jdbc batch insert + 주기적인 flush
+    //flush 후 등록한 회원은 준영속 상태가 됨 (같은 트랜잭션에서 이전에 조회한 엔티티는 영향 없음)
+    int saveAllBatched(Iterable<Member> members);
+
+    //대량 조회 -> findMemberCustom 의 stream 버전, 소비한 엔티티는 detach
+    Stream<Member> streamMemberCustom(int fetchSize);
+
+    //StatelessSession 조회 -> 영속성 컨텍스트 없이 엔티티 생성, 지연 로딩 불가 (team은 fetch join)
+    List<Member> findMemberStateless();
+
+    //Specification 조회 -> 같은 모양의 조건은 캐시된 JPQL을 재사용하고 파라미터만 바인딩
+    List<Member> findAllBySpec(ShapedSpecification<Member> spec);
+
+    //동시 수정 -> 낙관적 락 + 충돌 시 재시도
+    Member increaseAge(Long memberId);
+
+    //동시 수정 -> 비관적 락(select for update), 비교용
+    Member increaseAgeWithLock(Long memberId);
 }
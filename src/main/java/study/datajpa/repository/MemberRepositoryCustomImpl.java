@@ -1,11 +1,34 @@
 package study.datajpa.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.audit.AuditClock;
+import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 //규칙: 리포지토리 인터페이스 이름 + Impl
 //스프링 데이터 JPA가 인식해서 스프링 빈으로 등록
@@ -14,6 +37,12 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
 
     @PersistenceContext
     private final EntityManager em;
+    private final PageCountSupport pageCountSupport;
+    private final ParallelPageSupport parallelPageSupport;
+    private final InListSupport inListSupport;
+
+    //specification shape -> JPQL
+    private final Map<String, String> specQueryCache = new ConcurrentHashMap<>();
 
     //순수한 jpa 사용
     @Override
@@ -21,4 +50,245 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
         return em.createQuery("select m from Member m", Member.class)
                 .getResultList();
     }
+
+    @Override
+    public List<Member> findByNames(Collection<String> names) {
+        if (inListSupport.isArrayBind(names.size())) {
+            return findByNamesArrayBind(names);
+        }
+        return inListSupport.query(names, chunk -> em.createQuery(
+                "select m from Member m where m.userName in :names", Member.class)
+                .setParameter("names", chunk)
+                .getResultList());
+    }
+
+    //H2 table 함수로 배열 파라미터 하나를 임시 테이블처럼 사용 -> 목록 크기와 상관없이 같은 SQL
+    //id만 조회한 후 엔티티는 multiLoad -> 영속성 컨텍스트, 2차 캐시에 있는 회원은 다시 조회하지 않음
+    private List<Member> findByNamesArrayBind(Collection<String> names) {
+        Session session = em.unwrap(Session.class);
+        if (em.isJoinedToTransaction()) {
+            em.flush();
+        }
+
+        List<Long> ids = session.doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "select member_id from member where user_name in (select x from table(x varchar = ?))")) {
+                ps.setObject(1, names.toArray());
+                List<Long> result = new ArrayList<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        result.add(rs.getLong(1));
+                    }
+                }
+                return result;
+            }
+        });
+
+        return session.byMultipleIds(Member.class)
+                .withBatchSize(inListSupport.getChunkSize())
+                .multiLoad(ids);
+    }
+
+    //수정일만으로는 삭제를 알 수 없으므로 회원 수를 함께 사용
+    //수정일은 AuditClock 단위(10ms)라서 같은 시간에 두 번 수정되면 max가 그대로 -> 수정할 때마다 증가하는 version 합계를 함께 사용
+    @Override
+    public DataVersion findListVersion() {
+        Object[] result = em.createQuery("select count(m), coalesce(sum(m.version), 0), max(m.lastModifiedDate)" +
+                " from Member m", Object[].class)
+                .getSingleResult();
+        return DataVersion.of((Long) result[0], ((Number) result[1]).longValue(), (LocalDateTime) result[2]);
+    }
+
+    //keyset(seek) 페이징
+    //offset은 앞의 row를 전부 읽고 버리지만, keyset은 where 조건으로 바로 시작 위치를 찾아감
+    //userName이 같은 회원이 있을 수 있으므로 id를 함께 정렬 조건으로 사용 -> 정렬 순서가 유일해야 누락/중복이 없음
+    //slice와 동일하게 size + 1 개를 조회해서 다음 페이지 여부를 판단
+    @Override
+    public Slice<Member> findByCursor(MemberCursor cursor, int size) {
+        //size + 1 개를 조회하므로 int 범위를 넘지 않도록 최대값도 확인
+        if (size < 1 || size == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("잘못된 size 입니다. size = " + size);
+        }
+
+        //userName은 null일 수 있음 -> null은 비교 조건(<, =)에 걸리지 않으므로 정렬 위치(nulls last)를 명시하고 별도 조건으로 조회
+        TypedQuery<Member> query;
+        if (cursor == null) {
+            query = em.createQuery("select m from Member m" +
+                    " order by m.userName desc nulls last, m.id desc", Member.class);
+        } else if (cursor.getUserName() == null) {
+            //null 구간 안에서는 id로만 이어서 조회
+            query = em.createQuery("select m from Member m" +
+                    " where m.userName is null and m.id < :id" +
+                    " order by m.userName desc nulls last, m.id desc", Member.class)
+                    .setParameter("id", cursor.getId());
+        } else {
+            query = em.createQuery("select m from Member m" +
+                    " where m.userName < :userName" +
+                    " or (m.userName = :userName and m.id < :id)" +
+                    " or m.userName is null" +
+                    " order by m.userName desc nulls last, m.id desc", Member.class)
+                    .setParameter("userName", cursor.getUserName())
+                    .setParameter("id", cursor.getId());
+        }
+
+        List<Member> content = query
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content.remove(size);
+        }
+
+        Sort sort = Sort.by(Sort.Order.desc("userName").nullsLast(), Sort.Order.desc("id"));
+        return new SliceImpl<>(content, PageRequest.of(0, size, sort), hasNext);
+    }
+
+    @Override
+    public Page<Member> findPageByAge(int age, Pageable pageable, CountMode countMode) {
+        //where 조건이 있으므로 ESTIMATED는 의미가 없음 -> 정확한 count 사용
+        CountMode mode = countMode == CountMode.ESTIMATED ? CountMode.EXACT : countMode;
+        return pageCountSupport.getPage(findContentByAge(age, pageable), pageable, mode,
+                "Member.findPageByAge:" + age, "member", () -> countByAge(age));
+    }
+
+    @Override
+    public Page<Member> findAllParallel(Pageable pageable) {
+        String jpql = QueryUtils.applySorting("select m from Member m", pageable.getSort(), "m");
+        return parallelPageSupport.getPage(pageable,
+                () -> em.createQuery(jpql, Member.class)
+                        .setFirstResult((int) pageable.getOffset())
+                        .setMaxResults(pageable.getPageSize())
+                        .getResultList(),
+                () -> em.createQuery("select count(m) from Member m", Long.class)
+                        .getSingleResult());
+    }
+
+    @Override
+    public Page<Member> findByAgeParallel(int age, Pageable pageable) {
+        return parallelPageSupport.getPage(pageable,
+                () -> findContentByAge(age, pageable),
+                () -> countByAge(age));
+    }
+
+    private List<Member> findContentByAge(int age, Pageable pageable) {
+        String jpql = QueryUtils.applySorting("select m from Member m where m.age = :age", pageable.getSort(), "m");
+        return em.createQuery(jpql, Member.class)
+                .setParameter("age", age)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    private long countByAge(int age) {
+        return em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                .setParameter("age", age)
+                .getSingleResult();
+    }
+
+    @Override
+    public Page<MemberDto> findMemberDtoPage(Pageable pageable, CountMode countMode) {
+        String jpql = QueryUtils.applySorting(
+                "select new study.datajpa.dto.MemberDto(m.id, m.userName, t.name) from Member m left join m.team t",
+                pageable.getSort(), "m");
+        List<MemberDto> content = em.createQuery(jpql, MemberDto.class)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        //left join 이므로 count는 member 테이블 전체 row 수와 같음 -> join 없이 count
+        return pageCountSupport.getPage(content, pageable, countMode, "Member.findMemberDtoPage", "member",
+                () -> em.createQuery("select count(m) from Member m", Long.class)
+                        .getSingleResult());
+    }
+
+    //hibernate.jdbc.batch_size 만큼 persist 한 뒤 flush -> insert가 batch로 전송됨
+    //이후 batch의 회원만 detach 해서 영속성 컨텍스트에 엔티티가 쌓이지 않게 함 -> 데이터 양과 상관없이 메모리 사용량 일정
+    //clear 를 쓰지 않으므로 같은 트랜잭션에서 이전에 조회한 엔티티는 그대로 영속 상태
+    @Override
+    @Transactional
+    public int saveAllBatched(Iterable<Member> members) {
+        //등록일, 수정일은 전체 batch를 같은 시간으로 기록
+        return AuditClock.batch(() -> {
+            int batchSize = batchSize();
+            List<Member> batch = new ArrayList<>(batchSize);
+            int count = 0;
+
+            for (Member member : members) {
+                em.persist(member);
+                batch.add(member);
+                count++;
+                if (batch.size() == batchSize) {
+                    flushAndDetach(batch);
+                }
+            }
+
+            flushAndDetach(batch);
+            return count;
+        });
+    }
+
+    private void flushAndDetach(List<Member> batch) {
+        em.flush();
+        batch.forEach(em::detach);
+        batch.clear();
+    }
+
+    private int batchSize() {
+        Object batchSize = em.getEntityManagerFactory().getProperties().get("hibernate.jdbc.batch_size");
+        return batchSize == null ? 50 : Integer.parseInt(batchSize.toString());
+    }
+
+    @Override
+    public Stream<Member> streamMemberCustom(int fetchSize) {
+        return QueryStreams.detachingStream(em,
+                em.createQuery("select m from Member m", Member.class), fetchSize);
+    }
+
+    //1차 캐시, 스냅샷, 변경 감지가 모두 없는 조회
+    //StatelessSession은 스프링 트랜잭션과 별개의 커넥션을 사용하므로 조회 용도로만 사용
+    @Override
+    public List<Member> findMemberStateless() {
+        SessionFactory sessionFactory = em.getEntityManagerFactory().unwrap(SessionFactory.class);
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            //StatelessSession은 스냅샷을 만들지 않으므로 setReadOnly 는 필요 없음
+            return session.createQuery("select m from Member m left join fetch m.team", Member.class)
+                    .getResultList();
+        }
+    }
+
+    //Criteria 트리 생성, JPQL 변환을 생략 -> 같은 JPQL이므로 하이버네이트 쿼리 플랜 캐시도 그대로 사용됨
+    @Override
+    public List<Member> findAllBySpec(ShapedSpecification<Member> spec) {
+        String jpql = specQueryCache.computeIfAbsent(spec.getShape(),
+                shape -> SpecificationJpql.render("select m from Member m", "m", spec));
+
+        List<Object> parameters = new ArrayList<>();
+        spec.collectParameters(parameters);
+
+        TypedQuery<Member> query = em.createQuery(jpql, Member.class);
+        for (int i = 0; i < parameters.size(); i++) {
+            query.setParameter(i + 1, parameters.get(i));
+        }
+        return query.getResultList();
+    }
+
+    //flush 시점에 update ... where version = ? -> 다른 트랜잭션이 먼저 수정했으면 예외 후 재시도
+    @Override
+    @RetryOnConflict
+    @Transactional
+    public Member increaseAge(Long memberId) {
+        Member member = em.find(Member.class, memberId);
+        member.setAge(member.getAge() + 1);
+        em.flush();
+        return member;
+    }
+
+    @Override
+    @Transactional
+    public Member increaseAgeWithLock(Long memberId) {
+        Member member = em.find(Member.class, memberId, LockModeType.PESSIMISTIC_WRITE);
+        member.setAge(member.getAge() + 1);
+        return member;
+    }
 }
@@ -1,6 +1,5 @@
 package study.datajpa.repository;
 
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
@@ -10,21 +9,27 @@ import javax.persistence.criteria.JoinType;
 
 public class MemberSpec {
 
-    public static Specification<Member> teamName(final String teamName) {
+    public static ShapedSpecification<Member> teamName(final String teamName) {
 
-        return (Specification<Member>) (root, query, builder) -> {
+        if (StringUtils.isEmpty(teamName)) {
+            return ShapedSpecification.empty();
+        }
 
-            if (StringUtils.isEmpty(teamName)) {
-                return null;
-            }
-            Join<Member, Team> t = root.join("team", JoinType.INNER); //회원과 조
-            return builder.equal(t.get("name"), teamName);
-        };
+        return ShapedSpecification.of("teamName",
+                (root, query, builder) -> {
+                    Join<Member, Team> t = root.join("team", JoinType.INNER); //회원과 조
+                    return builder.equal(t.get("name"), teamName);
+                },
+                jpql -> jpql.join("join " + jpql.alias() + ".team t")
+                        .where("t.name = " + jpql.parameter()),
+                teamName);
     }
 
-    public static Specification<Member> userName(final String userName) {
+    public static ShapedSpecification<Member> userName(final String userName) {
 
-        return (Specification<Member>) (root, query, builder) ->
-                builder.equal(root.get("userName"), userName);
+        return ShapedSpecification.of("userName",
+                (root, query, builder) -> builder.equal(root.get("userName"), userName),
+                jpql -> jpql.where(jpql.alias() + ".userName = " + jpql.parameter()),
+                userName);
     }
 }
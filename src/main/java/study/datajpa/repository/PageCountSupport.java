@@ -0,0 +1,98 @@
+package study.datajpa.repository;
+
+import org.ehcache.Cache;
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Page 결과의 count 쿼리 전략
+ * 스프링 데이터 JPA의 PageableExecutionUtils 를 사용하므로
+ * 첫 페이지인데 content가 size보다 적거나, 마지막 페이지이면 count 쿼리 자체를 실행하지 않는다
+ * CACHED 모드의 count는 등록/삭제와 무관하게 TTL 동안 유지됨 -> 정확하지 않아도 되는 화면에서만 사용
+ */
+@Component
+public class PageCountSupport {
+
+    private static final String CACHE_NAME = "pageCount";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    //키에 파라미터 값이 들어가므로 개수 제한 필요 -> 2차 캐시와 같은 ehcache 사용, 가득 차면 ehcache가 일부 항목을 제거
+    private final CacheManager cacheManager;
+    private final Cache<String, Long> cache;
+
+    public PageCountSupport(@Value("${datajpa.page-count.ttl:10s}") Duration ttl,
+                            @Value("${datajpa.page-count.max-entries:1000}") int maxEntries) {
+        this.cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+                .withCache(CACHE_NAME, CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(String.class, Long.class, ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl)))
+                .build(true);
+        this.cache = cacheManager.getCache(CACHE_NAME, String.class, Long.class);
+    }
+
+    /**
+     * @param key   CACHED 모드에서 사용할 캐시 키 -> 쿼리 이름 + 파라미터 값으로 구성
+     * @param table ESTIMATED 모드에서 통계를 조회할 테이블 이름
+     * @param exactCount 실제 count 쿼리
+     */
+    public <T> Page<T> getPage(List<T> content, Pageable pageable, CountMode mode,
+                               String key, String table, LongSupplier exactCount) {
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(mode, key, table, exactCount));
+    }
+
+    private long count(CountMode mode, String key, String table, LongSupplier exactCount) {
+        switch (mode) {
+            case CACHED:
+                return cachedCount(key, exactCount);
+            case ESTIMATED:
+                return estimatedCount(table, exactCount);
+            default:
+                return exactCount.getAsLong();
+        }
+    }
+
+    private long cachedCount(String key, LongSupplier exactCount) {
+        Long cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long count = exactCount.getAsLong();
+        cache.put(key, count);
+        return count;
+    }
+
+    //H2는 INFORMATION_SCHEMA.TABLES.ROW_COUNT_ESTIMATE 로 테이블 row 수 추정치를 제공
+    //통계가 없으면(0) 정확한 count로 대체
+    private long estimatedCount(String table, LongSupplier exactCount) {
+        List<?> result = em.createNativeQuery(
+                "select row_count_estimate from information_schema.tables where table_name = ?")
+                .setParameter(1, table.toUpperCase())
+                .getResultList();
+
+        long count = result.isEmpty() ? 0 : ((Number) result.get(0)).longValue();
+        return count > 0 ? count : exactCount.getAsLong();
+    }
+
+    @PreDestroy
+    public void close() {
+        cacheManager.close();
+    }
+}
@@ -0,0 +1,66 @@
+package study.datajpa.repository;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.config.AsyncConfig;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 페이징의 content 쿼리와 count 쿼리를 동시에 실행
+ * 각각 리포지토리 실행기의 쓰레드에서 별도 읽기 전용 트랜잭션(별도 커넥션)으로 실행하고, 둘 다 끝나면 Page 생성
+ * 두 쿼리 비용이 비슷하면 응답 시간이 절반 가까이 줄어듬
+ * 대신 요청 하나가 커넥션을 두 개 사용하고, 반환된 엔티티는 준영속 상태
+ * 이미 트랜잭션(커넥션)이 있거나 리포지토리 실행기 쓰레드에서 호출하면 순서대로 실행
+ * -> 요청 하나가 커넥션 3개를 쓰거나, 실행기 쓰레드가 모두 자기 작업을 기다리는 상황(deadlock) 방지
+ */
+@Component
+public class ParallelPageSupport {
+
+    private final Executor executor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ParallelPageSupport(@Qualifier(AsyncConfig.REPOSITORY_EXECUTOR) Executor executor,
+                               PlatformTransactionManager transactionManager) {
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public <T> Page<T> getPage(Pageable pageable, Supplier<List<T>> content, LongSupplier count) {
+        if (TransactionSynchronizationManager.isActualTransactionActive() || AsyncConfig.isRepositoryThread()) {
+            return readOnlyTransaction.execute(status ->
+                    PageableExecutionUtils.getPage(content.get(), pageable, count));
+        }
+
+        CompletableFuture<List<T>> contentFuture = CompletableFuture.supplyAsync(
+                () -> readOnlyTransaction.execute(status -> content.get()), executor);
+        CompletableFuture<Long> countFuture = CompletableFuture.supplyAsync(
+                () -> readOnlyTransaction.execute(status -> count.getAsLong()), executor);
+
+        return PageableExecutionUtils.getPage(join(contentFuture), pageable, () -> join(countFuture));
+    }
+
+    //쿼리에서 발생한 예외를 그대로 전달
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
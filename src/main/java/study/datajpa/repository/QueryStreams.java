@@ -0,0 +1,50 @@
+package study.datajpa.repository;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 대량 조회용 Stream
+ * getResultList()는 결과 전체를 List로 만들기 때문에 row 수만큼 메모리를 사용한다
+ * forward-only 스크롤 + fetch size 로 DB에서 나눠서 가져오고, 소비한 엔티티는 바로 detach
+ * -> row 수와 상관없이 영속성 컨텍스트 크기가 일정
+ * 반드시 트랜잭션 안에서 사용하고 try-with-resources 로 close 해야 커서가 정리된다
+ */
+class QueryStreams {
+
+    private QueryStreams() {
+    }
+
+    static <T> Stream<T> detachingStream(EntityManager em, TypedQuery<T> query, int fetchSize) {
+        Query<?> hibernateQuery = query.unwrap(Query.class);
+        hibernateQuery.setFetchSize(fetchSize);
+        hibernateQuery.setReadOnly(true);   //스냅샷을 만들지 않음
+        ScrollableResults results = hibernateQuery.scroll(ScrollMode.FORWARD_ONLY);
+
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            @SuppressWarnings("unchecked")
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (!results.next()) {
+                    return false;
+                }
+                T entity = (T) results.get(0);
+                action.accept(entity);
+                //다음 단계까지 처리가 끝난 엔티티는 영속성 컨텍스트에서 제거
+                em.detach(entity);
+                return true;
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false).onClose(results::close);
+    }
+}
@@ -0,0 +1,19 @@
+package study.datajpa.repository;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.*;
+
+/**
+ * 조회 전용 트랜잭션 -> 클래스, 메서드에 모두 사용 가능
+ * 하이버네이트는 readOnly 트랜잭션에서
+ * 1. FlushMode.MANUAL -> 커밋 시점에 flush, 변경 감지를 하지 않음
+ * 2. session.setDefaultReadOnly(true) -> 조회한 엔티티의 스냅샷을 만들지 않음 (메모리 절약)
+ * 이미 진행중인 트랜잭션에 참여하는 경우에는 바깥 트랜잭션 설정을 따름
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReadOnly {
+}
@@ -0,0 +1,269 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.NamedQueryDefinition;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
+
+/**
+ * 리포지토리 쿼리 메서드에서 필요한 인덱스를 계산하고 실제 스키마와 비교
+ * 1. 메서드 이름 쿼리 -> PartTree 의 조건 (Or 마다 인덱스 하나)
+ * 2. @Query, NamedQuery -> JPQL where 절의 "별칭.필드 연산자" 조건
+ * 3. where 절과 상관없이 컬럼만 조회하는 쿼리 -> 조회 컬럼까지 포함한 커버링 인덱스
+ * 루트 엔티티의 조건만 대상, 네이티브 쿼리와 부정 조건(<>, not in ..)은 제외
+ * 시작 시 없는 인덱스를 create index 문으로 로그에 남김 -> 엔티티 @Table(indexes) 에 추가
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RepositoryIndexAdvisor {
+
+    private static final Pattern ROOT = Pattern.compile("\\b(?:from|update)\\s+(\\w+)\\s+(?:as\\s+)?(\\w+)", CASE_INSENSITIVE);
+    private static final Pattern WHERE = Pattern.compile("\\bwhere\\b(.*?)(?:\\b(?:group|order)\\s+by\\b|$)", CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern SELECT = Pattern.compile("^\\s*select\\s+(?:distinct\\s+)?(.*?)\\s+from\\s", CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern JOIN = Pattern.compile("\\bjoin\\s+(?:fetch\\s+)?(\\w+)\\.(\\w+)", CASE_INSENSITIVE);
+    private static final Pattern SELECT_ITEM = Pattern.compile("^(\\w+)\\.(\\w+)(?:\\s+as\\s+\\w+)?$", CASE_INSENSITIVE);
+    private static final Pattern PREDICATE = Pattern.compile(
+            "(\\w+)\\.(\\w+)\\s*(>=|<=|<>|!=|=|>|<|not\\s+in\\b|in\\b|not\\s+like\\b|like\\b|between\\b|is\\s+not\\s+null\\b|is\\s+null\\b)",
+            CASE_INSENSITIVE);
+
+    private static final Set<Part.Type> EQUALITY = EnumSet.of(
+            Part.Type.SIMPLE_PROPERTY, Part.Type.IN, Part.Type.IS_NULL, Part.Type.TRUE, Part.Type.FALSE);
+    private static final Set<Part.Type> NEGATING = EnumSet.of(
+            Part.Type.NEGATING_SIMPLE_PROPERTY, Part.Type.NOT_IN, Part.Type.IS_NOT_NULL,
+            Part.Type.NOT_LIKE, Part.Type.NOT_CONTAINING);
+
+    private final ListableBeanFactory beanFactory;
+    private final EntityManagerFactory emf;
+    private final DataSource dataSource;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logMissingIndexes() {
+        List<IndexSuggestion> missing = findMissingIndexes();
+        if (missing.isEmpty()) {
+            log.info("index advice: all repository queries have an index");
+        }
+        for (IndexSuggestion suggestion : missing) {
+            log.warn("index advice: {} -> {}", suggestion, suggestion.toDdl());
+        }
+    }
+
+    //스키마에 없는 인덱스
+    public List<IndexSuggestion> findMissingIndexes() {
+        List<IndexSuggestion> suggestions = suggest();
+        Set<String> tables = suggestions.stream().map(IndexSuggestion::getTable).collect(Collectors.toSet());
+        Map<String, List<List<String>>> indexes = readIndexes(tables);
+
+        return suggestions.stream()
+                .filter(s -> indexes.getOrDefault(s.getTable(), Collections.emptyList()).stream().noneMatch(s::isSatisfiedBy))
+                .collect(Collectors.toList());
+    }
+
+    public List<IndexSuggestion> suggest() {
+        SessionFactoryImplementor sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        List<IndexSuggestion> suggestions = new ArrayList<>();
+
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            AbstractEntityPersister persister = (AbstractEntityPersister) sessionFactory.getMetamodel().entityPersister(domainType);
+
+            for (Method method : information.getQueryMethods()) {
+                String source = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+                NamedQueryDefinition namedQuery = sessionFactory.getNamedQueryRepository()
+                        .getNamedQueryDefinition(domainType.getSimpleName() + "." + method.getName());
+
+                if (query != null && !query.value().isEmpty()) {
+                    if (!query.nativeQuery()) {
+                        fromJpql(source, persister, query.value()).ifPresent(suggestions::add);
+                    }
+                } else if (namedQuery != null) {
+                    fromJpql(source, persister, namedQuery.getQueryString()).ifPresent(suggestions::add);
+                } else {
+                    suggestions.addAll(fromMethodName(source, persister, method.getName(), domainType));
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    private List<IndexSuggestion> fromMethodName(String source, AbstractEntityPersister persister, String methodName, Class<?> domainType) {
+        List<IndexSuggestion> suggestions = new ArrayList<>();
+        for (PartTree.OrPart orPart : new PartTree(methodName, domainType)) {
+            Set<String> equality = new LinkedHashSet<>();
+            List<String> range = new ArrayList<>();
+
+            for (Part part : orPart) {
+                PropertyPath property = part.getProperty();
+                if (property.hasNext() || NEGATING.contains(part.getType())) {
+                    continue;   //연관 엔티티 조건, 부정 조건은 인덱스로 범위를 좁힐 수 없음
+                }
+                String column = column(persister, property.getSegment());
+                if (column == null) {
+                    continue;
+                }
+                if (EQUALITY.contains(part.getType())) {
+                    equality.add(column);
+                } else {
+                    range.add(column);
+                }
+            }
+            suggestion(source, persister, equality, range, Collections.emptySet()).ifPresent(suggestions::add);
+        }
+        return suggestions;
+    }
+
+    private Optional<IndexSuggestion> fromJpql(String source, AbstractEntityPersister persister, String jpql) {
+        Matcher root = ROOT.matcher(jpql);
+        if (!root.find()) {
+            return Optional.empty();
+        }
+        String alias = root.group(2);
+
+        Set<String> equality = new LinkedHashSet<>();
+        List<String> range = new ArrayList<>();
+        Matcher where = WHERE.matcher(jpql);
+        if (where.find()) {
+            Matcher predicate = PREDICATE.matcher(where.group(1));
+            while (predicate.find()) {
+                if (!predicate.group(1).equals(alias)) {
+                    continue;
+                }
+                String operator = predicate.group(3).toLowerCase().replaceAll("\\s+", " ");
+                if (operator.equals("=") && predicate.group(2).equals(persister.getIdentifierPropertyName())) {
+                    return Optional.empty();    //식별자로 조회 -> PK 인덱스
+                }
+                String column = column(persister, predicate.group(2));
+                if (column == null || operator.startsWith("not") || operator.equals("<>")
+                        || operator.equals("!=") || operator.equals("is not null")) {
+                    continue;
+                }
+                if (operator.equals("=") || operator.equals("in") || operator.equals("is null")) {
+                    equality.add(column);
+                } else {
+                    range.add(column);
+                }
+            }
+        }
+        return suggestion(source, persister, equality, range, coveringColumns(persister, alias, jpql));
+    }
+
+    //조회 항목이 모두 "별칭.필드" 이면 조회 컬럼 + 조인 컬럼, 엔티티나 함수를 조회하면 커버링 불가
+    private Set<String> coveringColumns(AbstractEntityPersister persister, String alias, String jpql) {
+        Matcher select = SELECT.matcher(jpql);
+        if (!select.find()) {
+            return Collections.emptySet();
+        }
+        String items = select.group(1).trim();
+        if (items.toLowerCase().startsWith("new ")) {
+            items = items.substring(items.indexOf('(') + 1, items.lastIndexOf(')'));
+        }
+
+        Set<String> columns = new LinkedHashSet<>();
+        for (String item : items.split(",")) {
+            Matcher matcher = SELECT_ITEM.matcher(item.trim());
+            if (!matcher.matches()) {
+                return Collections.emptySet();
+            }
+            if (matcher.group(1).equals(alias)) {
+                String column = column(persister, matcher.group(2));
+                if (column != null) {
+                    columns.add(column);
+                }
+            }
+        }
+
+        Matcher join = JOIN.matcher(jpql);
+        while (join.find()) {
+            if (join.group(1).equals(alias)) {
+                String column = column(persister, join.group(2));
+                if (column != null) {
+                    columns.add(column);
+                }
+            }
+        }
+        return columns;
+    }
+
+    private Optional<IndexSuggestion> suggestion(String source, AbstractEntityPersister persister,
+                                                 Set<String> equality, List<String> range, Set<String> covering) {
+        if (equality.isEmpty() && range.isEmpty() && covering.isEmpty()) {
+            return Optional.empty();    //조건도 없고 엔티티 전체를 조회 -> 인덱스로 줄일 수 없음
+        }
+        String rangeColumn = range.isEmpty() ? null : range.get(0);
+
+        //두번째 범위 조건부터는 인덱스에서 필터링만 가능
+        Set<String> include = new LinkedHashSet<>(range);
+        include.addAll(covering);
+        include.removeAll(equality);
+        include.remove(rangeColumn);
+
+        return Optional.of(new IndexSuggestion(source, persister.getTableName().toLowerCase(), equality, rangeColumn, include));
+    }
+
+    //식별자는 보조 인덱스에 이미 포함되어 있으므로 제외, 컬렉션 등 컬럼이 없는 필드도 제외
+    private String column(AbstractEntityPersister persister, String property) {
+        if (property.equals(persister.getIdentifierPropertyName())) {
+            return null;
+        }
+        try {
+            String[] columns = persister.getPropertyColumnNames(property);
+            return columns.length == 1 ? columns[0].toLowerCase() : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    //테이블별 인덱스 컬럼 목록 (순서대로)
+    private Map<String, List<List<String>>> readIndexes(Set<String> tables) {
+        return new JdbcTemplate(dataSource).execute((ConnectionCallback<Map<String, List<List<String>>>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, List<List<String>>> result = new HashMap<>();
+
+            for (String table : tables) {
+                String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table;
+                Map<String, SortedMap<Short, String>> indexes = new HashMap<>();
+                try (ResultSet rs = metaData.getIndexInfo(null, null, name, false, false)) {
+                    while (rs.next()) {
+                        String column = rs.getString("COLUMN_NAME");
+                        if (column != null) {
+                            indexes.computeIfAbsent(rs.getString("INDEX_NAME"), k -> new TreeMap<>())
+                                    .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase());
+                        }
+                    }
+                }
+                result.put(table, indexes.values().stream()
+                        .map(columns -> new ArrayList<>(columns.values()))
+                        .collect(Collectors.toList()));
+            }
+            return result;
+        });
+    }
+}
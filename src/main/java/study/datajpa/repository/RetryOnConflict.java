@@ -0,0 +1,21 @@
+package study.datajpa.repository;
+
+import java.lang.annotation.*;
+
+/**
+ * 낙관적 락 충돌(OptimisticLockingFailureException) 시 재시도
+ * 재시도마다 새 트랜잭션이 필요하므로 트랜잭션 바깥에서 호출되어야 함
+ * -> 이미 트랜잭션 안에서 호출되면 재시도하지 않고 예외를 그대로 던짐
+ * 대기 시간은 지수 증가(initialBackoff * 2^n, 최대 maxBackoff) + 무작위 지터 -> 충돌한 쓰레드들이 다시 동시에 시도하지 않도록
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+
+    int maxAttempts() default 5;
+
+    long initialBackoffMillis() default 10;
+
+    long maxBackoffMillis() default 1000;
+}
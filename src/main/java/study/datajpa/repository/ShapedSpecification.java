@@ -0,0 +1,51 @@
+package study.datajpa.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 조건의 모양(shape)을 알고 있는 Specification
+ * Specification 은 호출할 때마다 Criteria 트리를 만들고, 하이버네이트는 이것을 다시 JPQL로 변환한다
+ * 같은 모양(조건 종류, 조합)이면 JPQL이 같으므로 shape 를 키로 JPQL을 캐시하고 파라미터 값만 새로 바인딩
+ * -> MemberRepositoryCustom.findAllBySpec
+ * 기존처럼 JpaSpecificationExecutor.findAll(spec) 에도 그대로 사용 가능
+ */
+public interface ShapedSpecification<T> extends Specification<T> {
+
+    //캐시 키 -> 파라미터 값은 포함하지 않음
+    String getShape();
+
+    //캐시에 JPQL이 없을 때만 호출
+    void appendTo(SpecificationJpql jpql);
+
+    //매번 호출, appendTo 에서 만든 파라미터 순서와 같아야 함
+    void collectParameters(List<Object> parameters);
+
+    default ShapedSpecification<T> and(ShapedSpecification<T> other) {
+        ShapedSpecification<T> self = this;
+        Specification<T> criteria = Specification.where(self).and(other);
+        return new SimpleShapedSpecification<>(self.getShape() + "&" + other.getShape(), criteria,
+                jpql -> {
+                    self.appendTo(jpql);
+                    other.appendTo(jpql);
+                },
+                parameters -> {
+                    self.collectParameters(parameters);
+                    other.collectParameters(parameters);
+                });
+    }
+
+    static <T> ShapedSpecification<T> of(String shape, Specification<T> criteria,
+                                         Consumer<SpecificationJpql> jpql, Object... parameters) {
+        List<Object> values = Arrays.asList(parameters);
+        return new SimpleShapedSpecification<>(shape, criteria, jpql, p -> p.addAll(values));
+    }
+
+    //조건 없음 -> 기존 Specification 과 같이 toPredicate 는 null
+    static <T> ShapedSpecification<T> empty() {
+        return new SimpleShapedSpecification<>("", (root, query, builder) -> null, jpql -> { }, p -> { });
+    }
+}
@@ -0,0 +1,46 @@
+package study.datajpa.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.function.Consumer;
+
+class SimpleShapedSpecification<T> implements ShapedSpecification<T> {
+
+    private final String shape;
+    private final Specification<T> criteria;
+    private final Consumer<SpecificationJpql> jpql;
+    private final Consumer<List<Object>> parameters;
+
+    SimpleShapedSpecification(String shape, Specification<T> criteria,
+                              Consumer<SpecificationJpql> jpql, Consumer<List<Object>> parameters) {
+        this.shape = shape;
+        this.criteria = criteria;
+        this.jpql = jpql;
+        this.parameters = parameters;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        return criteria.toPredicate(root, query, builder);
+    }
+
+    @Override
+    public String getShape() {
+        return shape;
+    }
+
+    @Override
+    public void appendTo(SpecificationJpql jpql) {
+        this.jpql.accept(jpql);
+    }
+
+    @Override
+    public void collectParameters(List<Object> parameters) {
+        this.parameters.accept(parameters);
+    }
+}
@@ -0,0 +1,53 @@
+package study.datajpa.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ShapedSpecification 으로 JPQL 생성
+ * 파라미터는 위치 기반(?1, ?2 ...) -> collectParameters 순서대로 바인딩
+ */
+public class SpecificationJpql {
+
+    private final String alias;
+    private final Set<String> joins = new LinkedHashSet<>();
+    private final List<String> conditions = new ArrayList<>();
+    private int parameterCount;
+
+    SpecificationJpql(String alias) {
+        this.alias = alias;
+    }
+
+    public String alias() {
+        return alias;
+    }
+
+    //같은 join을 여러 조건이 사용해도 한번만 추가
+    public SpecificationJpql join(String join) {
+        joins.add(join);
+        return this;
+    }
+
+    public SpecificationJpql where(String condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    public String parameter() {
+        return "?" + (++parameterCount);
+    }
+
+    static String render(String select, String alias, ShapedSpecification<?> specification) {
+        SpecificationJpql jpql = new SpecificationJpql(alias);
+        specification.appendTo(jpql);
+
+        StringBuilder sb = new StringBuilder(select);
+        jpql.joins.forEach(join -> sb.append(' ').append(join));
+        if (!jpql.conditions.isEmpty()) {
+            sb.append(" where ").append(String.join(" and ", jpql.conditions));
+        }
+        return sb.toString();
+    }
+}
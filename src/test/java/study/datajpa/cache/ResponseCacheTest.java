@@ -0,0 +1,144 @@
+package study.datajpa.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조건부 GET + 응답 캐시 (단건, 목록)
+ * 테스트 트랜잭션 없이 실행 -> 수정이 커밋되어야 캐시가 비워짐
+ */
+@SpringBootTest
+class ResponseCacheTest {
+
+    @Autowired ResponseCache responseCache;
+
+    @Autowired MemberRepository memberRepository;
+
+    AtomicInteger loadCount = new AtomicInteger();
+
+    //커밋한 회원 -> 테스트가 끝나면 삭제 (다른 테스트의 회원 수 검증에 영향 주지 않도록)
+    List<Member> savedMembers = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        responseCache.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        memberRepository.deleteInBatch(savedMembers);
+    }
+
+    @Test
+    public void notModified() {
+        //given
+        Member member = save(new Member("etag", 10));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        String body = get(member.getId(), null, first);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        //when
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        String cached = get(member.getId(), etag, second);
+
+        //then
+        //같은 ETag -> 304, 응답은 다시 만들지 않음
+        assertThat(body).isEqualTo("etag");
+        assertThat(etag).isNotNull();
+        assertThat(first.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+        assertThat(cached).isNull();
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(loadCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void invalidateOnWrite() {
+        //given
+        Member member = save(new Member("before", 10));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        get(member.getId(), null, first);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        //when
+        //수정 커밋 -> 캐시 비움, @Version 증가로 ETag 변경
+        member.setUserName("after");
+        memberRepository.save(member);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        String body = get(member.getId(), etag, second);
+
+        //then
+        assertThat(body).isEqualTo("after");
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    //목록 -> 회원 수가 같아도 수정되면 version 합계가 바뀌어 ETag 변경
+    @Test
+    public void listEtagChangesOnUpdate() {
+        //given
+        Member member = save(new Member("listBefore", 10));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        getList(null, first);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        //when
+        member.setUserName("listAfter");
+        memberRepository.save(member);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        Long count = getList(etag, second);
+
+        //then
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(count).isEqualTo(memberRepository.count());
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    private Member save(Member member) {
+        Member saved = memberRepository.save(member);
+        savedMembers.add(saved);
+        return saved;
+    }
+
+    private Long getList(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/members");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return responseCache.get(new ServletWebRequest(request, response), "members",
+                memberRepository::findListVersion,
+                () -> {
+                    loadCount.incrementAndGet();
+                    return memberRepository.count();
+                });
+    }
+
+    private String get(Long id, String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/members/" + id);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return responseCache.get(new ServletWebRequest(request, response), "member:" + id,
+                () -> memberRepository.findVersionById(id),
+                () -> {
+                    loadCount.incrementAndGet();
+                    return memberRepository.findById(id).get().getUserName();
+                });
+    }
+}
@@ -0,0 +1,51 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class QueryPlanWarmupTest {
+
+    @Autowired QueryPlanWarmup queryPlanWarmup;
+
+    @Autowired MemberRepository memberRepository;
+
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    public void warmUp() {
+        //given
+        //warm-up 이 자체 트랜잭션을 사용하므로 커밋 후 실행하고, 끝나면 삭제 (다른 테스트의 회원 수 검증에 영향 주지 않도록)
+        Member member = memberRepository.save(new Member("warmup", 10));
+        long count = memberRepository.count();
+
+        //when
+        QueryPlanWarmup.Result result;
+        long countAfter;
+        try {
+            result = queryPlanWarmup.warmUp();
+            countAfter = memberRepository.count();
+        } finally {
+            memberRepository.delete(member);
+        }
+
+        //then
+        //@Query, NamedQuery 는 집계만, 메서드 이름 쿼리는 실행
+        //Page 반환, 락, 수정, 비동기 메서드는 제외
+        assertThat(result.jpql).isGreaterThan(0);
+        assertThat(result.named).isGreaterThan(0);
+        assertThat(result.derived).isGreaterThan(0);
+        assertThat(result.skipped).isGreaterThan(0);
+        assertThat(countAfter).isEqualTo(count);
+
+        //시작 시 ApplicationRunner 로 실행되면서 플랜 캐시 메트릭 등록
+        assertThat(meterRegistry.find("datajpa.query.plan.cache").tag("result", "hit").functionCounter()).isNotNull();
+        assertThat(meterRegistry.find("datajpa.query.plan.cache").tag("result", "miss").functionCounter()).isNotNull();
+    }
+}
@@ -0,0 +1,124 @@
+package study.datajpa.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReplicationDataSourceConfig 로 로컬 H2 두 개(primary, replica) 라우팅 확인
+ * 각 DB에 자기 이름을 저장해두고 어느 DB에서 조회되는지 확인
+ * sticky window, max lag 를 길게 설정 -> 쓰기로 기록되면 테스트 동안 계속 primary
+ */
+class ReplicationRoutingDataSourceTest {
+
+    ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+            .withUserConfiguration(ReplicationDataSourceConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "datajpa.datasource.replica.url=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1",
+                    "datajpa.datasource.replica.username=sa",
+                    "datajpa.datasource.replica.sticky-window=1h",
+                    "datajpa.datasource.replica.max-lag=1h");
+
+    @Test
+    public void readOnlyToReplica() {
+        contextRunner.run(context -> {
+            Routing routing = new Routing(context);
+
+            assertThat(routing.readOnly()).isEqualTo("replica");
+            assertThat(routing.write()).isEqualTo("primary");
+        });
+    }
+
+    //트랜잭션 밖의 접근(헬스 체크, 시퀀스 조회 등)은 primary 로 가지만 쓰기로 기록하지 않음
+    @Test
+    public void nonTransactionalDoesNotForcePrimary() {
+        contextRunner.run(context -> {
+            Routing routing = new Routing(context);
+
+            assertThat(routing.nonTransactional()).isEqualTo("primary");
+            assertThat(routing.readOnly()).isEqualTo("replica");
+        });
+    }
+
+    //쓰기 트랜잭션 커밋 후 읽기 -> primary
+    @Test
+    public void readAfterCommitToPrimary() {
+        contextRunner.run(context -> {
+            Routing routing = new Routing(context);
+
+            routing.write();
+            assertThat(routing.readOnly()).isEqualTo("primary");
+        });
+    }
+
+    //롤백된 쓰기 트랜잭션은 replica 에 반영될 것이 없음
+    @Test
+    public void rollbackDoesNotForcePrimary() {
+        contextRunner.run(context -> {
+            Routing routing = new Routing(context);
+
+            routing.writeAndRollback();
+            assertThat(routing.readOnly()).isEqualTo("replica");
+        });
+    }
+
+    static class Routing {
+
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transaction;
+
+        Routing(AssertableApplicationContext context) {
+            init(context.getBean("primaryPool", DataSource.class), "primary");
+            init(context.getBean("replicaPool", DataSource.class), "replica");
+
+            DataSource dataSource = context.getBean("dataSource", DataSource.class);
+            jdbcTemplate = new JdbcTemplate(dataSource);
+            transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+
+        String nonTransactional() {
+            return currentDb();
+        }
+
+        String readOnly() {
+            transaction.setReadOnly(true);
+            return transaction.execute(status -> currentDb());
+        }
+
+        String write() {
+            transaction.setReadOnly(false);
+            return transaction.execute(status -> currentDb());
+        }
+
+        void writeAndRollback() {
+            transaction.setReadOnly(false);
+            transaction.execute(status -> {
+                status.setRollbackOnly();
+                return currentDb();
+            });
+        }
+
+        private String currentDb() {
+            return jdbcTemplate.queryForObject("select name from db_name", String.class);
+        }
+
+        private void init(DataSource dataSource, String name) {
+            JdbcTemplate template = new JdbcTemplate(dataSource);
+            template.execute("create table if not exists db_name (name varchar(20))");
+            template.execute("delete from db_name");
+            template.update("insert into db_name values (?)", name);
+        }
+    }
+}
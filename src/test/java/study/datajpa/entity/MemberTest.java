@@ -10,8 +10,11 @@ import study.datajpa.repository.MemberRepository;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -79,4 +82,25 @@ class MemberTest {
         System.out.println("findMember.updatedBy = " + findMember.getLastModifiedBy());
     }
 
-}
\ No newline at end of file
+    @Test
+    @Rollback
+    public void bulkAudit() {
+
+        //given
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            members.add(new Member("member" + i, i));
+        }
+
+        //when
+        //등록자는 트랜잭션당 한번, 등록일은 batch 전체에 한번만 계산
+        memberRepository.saveAllBatched(members);
+        List<Member> findMembers = memberRepository.findAllById(
+                members.stream().map(Member::getId).collect(Collectors.toList()));
+
+        //then
+        assertThat(findMembers).extracting("createdBy").containsOnly(findMembers.get(0).getCreatedBy());
+        assertThat(findMembers).extracting("createdDate").containsOnly(findMembers.get(0).getCreatedDate());
+    }
+
+}
@@ -0,0 +1,83 @@
+package study.datajpa.entity.id;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 쓰레드가 동시에 id를 생성
+ * 시퀀스는 increment by incrementSize 로 증가하는 DB 시퀀스를 흉내
+ */
+class LockFreePooledLoOptimizerTest {
+
+    static final int INCREMENT_SIZE = 50;
+    static final int THREADS = 16;
+    static final int IDS_PER_THREAD = 10_000;
+
+    @Test
+    public void concurrentGenerate() throws Exception {
+        //given
+        LockFreePooledLoOptimizer optimizer = new LockFreePooledLoOptimizer(Long.class, INCREMENT_SIZE);
+        SequenceCallback sequence = new SequenceCallback();
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+
+        //when
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    if (!ids.add((Long) optimizer.generate(sequence))) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        //then
+        //중복 없음, 시퀀스 블록을 버리지 않으므로 시퀀스 호출 수 = id 개수 / incrementSize
+        int total = THREADS * IDS_PER_THREAD;
+        assertThat(duplicates.get()).isZero();
+        assertThat(ids).hasSize(total);
+        assertThat(sequence.calls.get()).isEqualTo(total / INCREMENT_SIZE);
+        assertThat(optimizer.getLastSourceValue().makeValue().longValue())
+                .isEqualTo(1 + (long) (total / INCREMENT_SIZE - 1) * INCREMENT_SIZE);
+    }
+
+    static class SequenceCallback implements AccessCallback {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicLong value = new AtomicLong(1);
+
+        @Override
+        public IntegralDataTypeHolder getNextValue() {
+            calls.incrementAndGet();
+            return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class)
+                    .initialize(value.getAndAdd(INCREMENT_SIZE));
+        }
+
+        @Override
+        public String getTenantIdentifier() {
+            return null;
+        }
+    }
+}
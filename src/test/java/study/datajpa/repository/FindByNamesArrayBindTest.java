@@ -0,0 +1,43 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * in 절 값이 array-bind-threshold 보다 많음 -> 배열 파라미터 하나로 조회 (H2 table 함수)
+ */
+@SpringBootTest(properties = "datajpa.in-list.array-bind-threshold=10")
+@Transactional
+class FindByNamesArrayBindTest {
+
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    public void arrayBind() {
+
+        //given
+        //아직 flush 되지 않은 회원도 조회되어야 함
+        Member member1 = memberRepository.save(new Member("arrayBind3", 10));
+        Member member2 = memberRepository.save(new Member("arrayBind15", 20));
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            names.add("arrayBind" + i);
+        }
+
+        //when
+        List<Member> result = memberRepository.findByNames(names);
+
+        //then
+        //같은 트랜잭션의 영속성 컨텍스트에서 가져옴 -> 같은 인스턴스
+        assertThat(result).containsExactlyInAnyOrder(member1, member2);
+    }
+}
@@ -3,8 +3,16 @@ package study.datajpa.repository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Item;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -13,6 +21,9 @@ class ItemRepositoryTest {
     @Autowired
     ItemRepository itemRepository;
 
+    @PersistenceContext
+    EntityManager em;
+
     /**
      * 식별자가 객체일 때 null 로 판단
      * 식별자가 자바 기본 타입일 때 0 으로 판단
@@ -33,4 +44,45 @@ class ItemRepositoryTest {
         itemRepository.save(item);
     }
 
-}
\ No newline at end of file
+    /**
+     * saveNew -> isNew() 판단 없이 항상 persist, select 없이 insert만 실행
+     * 같은 id가 이미 있으면 DuplicateKeyException
+     */
+    @Test
+    @Transactional
+    public void saveNew() {
+        itemRepository.saveNew(new Item("new-A"));
+        //영속성 컨텍스트를 비움 -> 두번째 insert가 DB까지 가서 unique 제약 조건 위반을 DuplicateKeyException으로 변환
+        em.flush();
+        em.clear();
+
+        assertThrows(DuplicateKeyException.class, () -> itemRepository.saveNew(new Item("new-A")));
+    }
+
+    //merge(select + insert) 와 saveAllNew(batch insert) 의 SQL 실행 수 비교
+    //실행 시간 비교는 ItemInsertBenchmark (src/jmh)
+    @Test
+    @Transactional
+    public void saveAllNewStatementCount() {
+        QueryCounter queryCounter = new QueryCounter(em);
+        int count = 500;
+
+        //merge -> id마다 select 후 insert
+        long mergeStatements = queryCounter.count(() -> {
+            for (int i = 0; i < count; i++) {
+                em.merge(new Item("merge-" + i));
+            }
+            em.flush();
+        });
+
+        //saveAllNew -> select 없이 batch insert
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new Item("insert-" + i));
+        }
+        long insertStatements = queryCounter.count(() -> itemRepository.saveAllNew(items));
+
+        assertThat(mergeStatements).isGreaterThanOrEqualTo(count);
+        assertThat(insertStatements).isLessThan(mergeStatements);
+    }
+}
@@ -9,7 +9,9 @@ import study.datajpa.entity.Member;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -118,6 +120,29 @@ class MemberJpaRepositoryTest {
         assertThat(totalCount).isEqualTo(5);
     }
 
+    @Test
+    @Rollback
+    public void streamAll() {
+
+        //given
+        for (int i = 0; i < 5; i++) {
+            memberJpaRepository.save(new Member("member" + i, 10));
+        }
+        em.flush();
+        em.clear();
+
+        //when
+        //fetch size 만큼씩 DB에서 가져오고, 처리한 엔티티는 영속성 컨텍스트에서 제거됨
+        List<Member> consumed = new ArrayList<>();
+        try (Stream<Member> stream = memberJpaRepository.streamAll(2)) {
+            stream.forEach(consumed::add);
+        }
+
+        //then
+        assertThat(consumed.size()).isEqualTo(5);
+        assertThat(consumed).noneMatch(em::contains);
+    }
+
     @Test
     public void bulkUpdate() throws Exception {
         //given
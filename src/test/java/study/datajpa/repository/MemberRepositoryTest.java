@@ -1,23 +1,42 @@
 package study.datajpa.repository;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.repository.query.Param;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,9 +50,32 @@ class MemberRepositoryTest {
 
     @Autowired TeamRepository teamRepository;
 
+    @Autowired MeterRegistry meterRegistry;
+
+    @Autowired MemberBulkUpdater memberBulkUpdater;
+
+    @Autowired PlatformTransactionManager transactionManager;
+
     @PersistenceContext
     EntityManager em;
 
+    //트랜잭션 밖에서 커밋한 회원, 팀 -> 테스트가 끝나면 삭제
+    //남은 데이터가 다른 테스트의 count 검증(findByAge, bulkAgePlus 등)에 섞이지 않도록
+    List<Member> committedMembers = new ArrayList<>();
+    List<Team> committedTeams = new ArrayList<>();
+
+    @AfterEach
+    public void deleteCommitted() {
+        if (committedMembers.isEmpty() && committedTeams.isEmpty()) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.executeWithoutResult(status -> {
+            memberRepository.deleteInBatch(committedMembers);
+            teamRepository.deleteInBatch(committedTeams);
+        });
+    }
 
     @Test
     public void testMember() {
@@ -174,6 +216,52 @@ class MemberRepositoryTest {
         }
     }
 
+    //in 절 값이 chunk-size(1000) 보다 많음 -> 나눠서 조회 후 합침
+    @Test
+    @Rollback
+    public void findByNamesLargeList() {
+
+        //given
+        memberRepository.save(new Member("inList1", 10));
+        memberRepository.save(new Member("inList1500", 20));
+        memberRepository.save(new Member("inList2400", 30));
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            names.add("inList" + i);
+        }
+
+        //when
+        List<Member> result = memberRepository.findByNames(names);
+
+        //then
+        assertThat(result).extracting("userName")
+                .containsExactlyInAnyOrder("inList1", "inList1500", "inList2400");
+    }
+
+    //트랜잭션 밖에서 호출 -> 나눈 조회를 리포지토리 실행기에서 동시에 실행하고 합침
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findByNamesLargeListParallel() {
+
+        //given
+        committedMembers.add(memberRepository.save(new Member("parallelIn7", 10)));
+        committedMembers.add(memberRepository.save(new Member("parallelIn1200", 20)));
+        committedMembers.add(memberRepository.save(new Member("parallelIn2999", 30)));
+
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            names.add("parallelIn" + i);
+        }
+
+        //when
+        List<Member> result = memberRepository.findByNames(names);
+
+        //then
+        assertThat(result).extracting("userName")
+                .containsExactlyInAnyOrder("parallelIn7", "parallelIn1200", "parallelIn2999");
+    }
+
     @Test
     public void returnType() {
 
@@ -249,6 +337,123 @@ class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue();    //다음 페이지가 있냐??
     }
 
+    //다른 테스트의 회원보다 뒤에 정렬되는 이름(zz...)을 사용 -> 내림차순 첫 페이지부터 이 테스트의 회원만 조회
+    @Test
+    @Rollback
+    public void keysetPaging() {
+
+        //given
+        memberRepository.save(new Member("zzKeyset1", 10));
+        memberRepository.save(new Member("zzKeyset2", 10));
+        memberRepository.save(new Member("zzKeyset3", 10));
+        memberRepository.save(new Member("zzKeyset3", 10));
+        memberRepository.save(new Member("zzKeyset4", 10));
+        memberRepository.save(new Member("zzKeyset5", 10));
+
+        //when
+        //첫 페이지는 cursor 없이 조회, 다음 페이지는 마지막 회원을 기준으로 조회
+        Slice<Member> first = memberRepository.findByCursor(null, 3);
+        List<Member> content1 = first.getContent();
+        MemberCursor cursor = MemberCursor.decode(MemberCursor.of(content1.get(2)).encode());
+        Slice<Member> second = memberRepository.findByCursor(cursor, 3);
+        List<Member> content2 = second.getContent();
+
+        //then
+        //userName이 같은 회원(zzKeyset3) 두 명이 페이지 경계에 나뉘어도 누락/중복 없이 조회 (id desc)
+        assertThat(content1).extracting("userName").containsExactly("zzKeyset5", "zzKeyset4", "zzKeyset3");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(content2).extracting("userName").containsExactly("zzKeyset3", "zzKeyset2", "zzKeyset1");
+        assertThat(content2.get(0).getId()).isLessThan(content1.get(2).getId());
+    }
+
+    //userName이 null인 회원은 맨 뒤(nulls last) -> 이름이 있는 회원 다음 페이지부터 id 순으로 조회
+    //빈 문자열은 null이 아닌 가장 작은 이름 -> 그 다음이 null 구간
+    @Test
+    @Rollback
+    public void keysetPagingNullUserName() {
+
+        //given
+        Member last = memberRepository.save(new Member("", 10));
+        Member null1 = memberRepository.save(new Member(null, 10));
+        Member null2 = memberRepository.save(new Member(null, 10));
+
+        //when
+        //이름이 있는 마지막 회원 -> null 구간으로 넘어감
+        Slice<Member> first = memberRepository.findByCursor(MemberCursor.of(last), 1);
+        //null 회원의 cursor -> null 구간 안에서 이어서 조회
+        MemberCursor nullCursor = MemberCursor.decode(MemberCursor.of(first.getContent().get(0)).encode());
+        Slice<Member> second = memberRepository.findByCursor(nullCursor, 1);
+
+        //then
+        assertThat(first.getContent()).containsExactly(null2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(nullCursor.getUserName()).isNull();
+        assertThat(second.getContent()).containsExactly(null1);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    //IllegalArgumentException -> 리포지토리 예외 변환으로 InvalidDataAccessApiUsageException
+    //테스트 트랜잭션이 rollback-only 가 되지 않도록 트랜잭션 없이 실행
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void keysetPagingInvalidSize() {
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> memberRepository.findByCursor(null, 0));
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> memberRepository.findByCursor(null, Integer.MAX_VALUE));
+    }
+
+    @Test
+    @Rollback
+    public void pagingWithCountMode() {
+
+        //given
+        int age = 86;
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(new Member("countMode" + i, age));
+        }
+
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "userName"));
+
+        //when
+        //cached -> 두번째 호출은 count 쿼리를 실행하지 않고 이전 결과를 재사용
+        Page<Member> page = memberRepository.findPageByAge(age, pageRequest, CountMode.CACHED);
+        memberRepository.save(new Member("countMode6", age));
+        Page<Member> cachedPage = memberRepository.findPageByAge(age, pageRequest, CountMode.CACHED);
+
+        //첫 페이지가 다 차지 않으면 count 쿼리 생략
+        Page<Member> notFullPage = memberRepository.findPageByAge(age, PageRequest.of(0, 10), CountMode.EXACT);
+
+        //then
+        assertThat(page.getContent()).extracting("userName").containsExactly("countMode5", "countMode4", "countMode3");
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(cachedPage.getTotalElements()).isEqualTo(5);
+        assertThat(notFullPage.getTotalElements()).isEqualTo(6);
+    }
+
+    @Test
+    @Rollback
+    public void saveAllBatched() {
+
+        //given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            members.add(new Member("member" + i, i, teamA));
+        }
+
+        //when
+        //50개 단위로 insert batch 전송 후 batch의 회원만 detach
+        int savedCount = memberRepository.saveAllBatched(members);
+
+        //then
+        assertThat(savedCount).isEqualTo(120);
+        assertThat(members).allMatch(m -> m.getId() != null);
+        assertThat(em.contains(members.get(0))).isFalse();
+        assertThat(em.contains(teamA)).isTrue();    //호출 전에 영속 상태였던 엔티티는 그대로
+        assertThat(em.createQuery("select count(m) from Member m where m.team = :team", Long.class)
+                .setParameter("team", teamA)
+                .getSingleResult()).isEqualTo(120);
+    }
+
     @Test
     public void bulkUpdate() throws Exception {
         //given
@@ -275,6 +480,93 @@ class MemberRepositoryTest {
         assertThat(resultCount).isEqualTo(3);
     }
 
+    //청크마다 별도 트랜잭션으로 커밋 -> 테스트 트랜잭션 밖에서 실행
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void chunkedBulkUpdate() {
+        //given
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            members.add(new Member("chunk" + i, 100 + i));
+        }
+        committedMembers.addAll(memberRepository.saveAll(members));
+        long startAfterId = members.get(0).getId() - 1;
+
+        //when
+        //3개씩 나눠서 커밋, 진행 상황을 전달 받음
+        List<BulkUpdateProgress> progresses = new ArrayList<>();
+        BulkUpdateProgress result = memberBulkUpdater.bulkAgePlus(105, 3, startAfterId, progresses::add);
+
+        //then
+        assertThat(result.isDone()).isTrue();
+        assertThat(result.getUpdatedCount()).isEqualTo(5);   //age 105 ~ 109
+        assertThat(progresses.size()).isGreaterThan(1);
+        assertThat(memberRepository.findById(members.get(9).getId()).get().getAge()).isEqualTo(110);
+        assertThat(memberRepository.findById(members.get(0).getId()).get().getAge()).isEqualTo(100);
+    }
+
+    //@Repository 예외 변환 -> IllegalArgumentException 이 InvalidDataAccessApiUsageException 으로 변환
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void chunkedBulkUpdateInvalidChunkSize() {
+        assertThrows(InvalidDataAccessApiUsageException.class, () -> memberBulkUpdater.bulkAgePlus(20, 0));
+    }
+
+    //비동기 조회는 별도 트랜잭션 -> 테스트 트랜잭션 밖에서 저장한 데이터로 확인
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void asyncQuery() throws Exception {
+        //given
+        committedMembers.add(memberRepository.save(new Member("async1", 77)));
+        committedMembers.add(memberRepository.save(new Member("async2", 77)));
+
+        //when
+        //두 조회를 동시에 실행하고 결과를 합침
+        CompletableFuture<List<Member>> members = memberRepository.findAsyncByUserName("async1");
+        CompletableFuture<Long> count = memberRepository.countAsyncByAge(77);
+        CompletableFuture.allOf(members, count).get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(members.get()).extracting("userName").containsOnly("async1");
+        assertThat(count.get()).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void parallelPaging() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            committedMembers.add(memberRepository.save(new Member("parallel" + i, 88)));
+        }
+
+        //when
+        Page<Member> page = memberRepository.findByAgeParallel(88,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "userName")));
+
+        //then
+        assertThat(page.getContent().size()).isEqualTo(3);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+    }
+
+    //이미 트랜잭션이 있으면 호출한 트랜잭션에서 순서대로 실행 -> 커넥션을 추가로 쓰지 않고 엔티티는 영속 상태
+    @Test
+    @Rollback
+    public void parallelPagingInTransaction() {
+        //given
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("sequential" + i, 87));
+        }
+
+        //when
+        Page<Member> page = memberRepository.findByAgeParallel(87,
+                PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "userName")));
+
+        //then
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(em.contains(page.getContent().get(0))).isTrue();
+    }
+
     @Test
     public void findMemberLazy() {
         //given
@@ -310,6 +602,81 @@ class MemberRepositoryTest {
         }
     }
 
+    //N+1 검증 -> batch fetch, subselect 적용 시 부모 수와 상관없이 쿼리 수가 일정
+    @Test
+    @Rollback
+    public void batchFetch() {
+        //given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        Team teamB = teamRepository.save(new Team("teamB"));
+        for (int i = 0; i < 10; i++) {
+            memberRepository.save(new Member("member" + i, 10, i % 2 == 0 ? teamA : teamB));
+        }
+
+        QueryCounter queryCounter = new QueryCounter(em);
+
+        //when, then
+        //회원 조회 1 + 팀 프록시 초기화 1 (in 절)
+        queryCounter.assertStatementCount(2, () -> {
+            List<Member> members = memberRepository.findMemberCustom();
+            members.forEach(m -> m.getTeam().getName());
+        });
+
+        //팀 조회 1 + 회원 컬렉션 초기화 1 (subselect)
+        queryCounter.assertStatementCount(2, () -> {
+            List<Team> teams = teamRepository.findAll();
+            teams.forEach(t -> t.getMembers().size());
+        });
+    }
+
+    @Test
+    @Rollback
+    public void repositoryMetrics() {
+        //given
+        memberRepository.save(new Member("metricsMember", 10));
+        memberRepository.save(new Member("metricsMember", 20));
+        em.flush();
+        em.clear();
+        double statementsBefore = totalAmount("repository.statements", "MemberRepository.findListByUserName");
+        double rowsBefore = totalAmount("repository.rows", "MemberRepository.findListByUserName");
+
+        //when
+        List<Member> result = memberRepository.findListByUserName("metricsMember");
+
+        //then
+        //리포지토리 메서드별 SQL 실행 수, row 수 기록 -> 이번 호출로 늘어난 값만 비교
+        assertThat(result).hasSize(2);
+        assertThat(totalAmount("repository.statements", "MemberRepository.findListByUserName") - statementsBefore)
+                .isEqualTo(1);
+        assertThat(totalAmount("repository.rows", "MemberRepository.findListByUserName") - rowsBefore)
+                .isEqualTo(2);
+    }
+
+    private double totalAmount(String name, String method) {
+        DistributionSummary summary = meterRegistry.find(name).tag("method", method).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    //트랜잭션 없이 호출 -> 리포지토리 메서드가 커넥션을 얻고 반납
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void connectionMetrics() {
+        //when
+        memberRepository.findMemberCustom();
+
+        //then
+        //커넥션 대기 시간, 사용 시간을 커넥션을 사용한 리포지토리 메서드별로 기록
+        Timer acquire = meterRegistry.find("repository.connection.acquire")
+                .tag("method", "MemberRepository.findMemberCustom").timer();
+        Timer usage = meterRegistry.find("repository.connection.usage")
+                .tag("method", "MemberRepository.findMemberCustom").timer();
+        assertThat(acquire.count()).isGreaterThanOrEqualTo(1);
+        assertThat(usage.count()).isGreaterThanOrEqualTo(1);
+
+        //풀 전체 상태는 hikari 메트릭
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+    }
+
     @Test
     public void queryHint() {
         //givn
@@ -327,6 +694,58 @@ class MemberRepositoryTest {
         em.flush();
     }
 
+    //@ReadOnly 트랜잭션 -> 조회한 엔티티가 읽기 전용, 스냅샷이 없고 flush 해도 변경 감지를 하지 않음
+    @Test
+    @ReadOnly
+    public void readOnlyTransaction() {
+
+        //given
+        //읽기 전용 트랜잭션에서는 저장하지 않음 -> 별도 트랜잭션에서 저장
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Member member = transaction.execute(status -> memberRepository.save(new Member("readOnlyTx", 10)));
+        committedMembers.add(member);
+        Long id = member.getId();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        //when
+        Member findMember = memberRepository.findById(id).get();
+        findMember.setUserName("changed");
+        statistics.clear();
+        em.flush();
+
+        //then
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        assertThat(session.isReadOnly(findMember)).isTrue();
+        assertThat(session.getPersistenceContext().getEntry(findMember).getLoadedState()).isNull();
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(0);
+    }
+
+    //StatelessSession은 별도 커넥션으로 조회 -> 커밋된 데이터만 보이므로 트랜잭션 없이 저장
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void findMemberStateless() {
+
+        //given
+        Team team = teamRepository.save(new Team("statelessTeam"));
+        committedTeams.add(team);
+        committedMembers.add(memberRepository.save(new Member("stateless1", 10, team)));
+        committedMembers.add(memberRepository.save(new Member("stateless2", 20, team)));
+
+        //when
+        List<Member> result = memberRepository.findMemberStateless();
+
+        //then
+        //영속성 컨텍스트 밖의 엔티티, team은 fetch join 으로 이미 채워져 있음
+        List<Member> members = result.stream()
+                .filter(m -> m.getUserName().startsWith("stateless"))
+                .collect(Collectors.toList());
+        assertThat(members).extracting("userName").containsExactlyInAnyOrder("stateless1", "stateless2");
+        assertThat(members).allMatch(m -> m.getTeam().getName().equals("statelessTeam"));
+        assertThat(em.getEntityManagerFactory().getPersistenceUnitUtil().isLoaded(members.get(0), "team")).isTrue();
+    }
+
     @Test
     public void lock() {
 
@@ -341,6 +760,56 @@ class MemberRepositoryTest {
         //for update
     }
 
+    //트랜잭션 없이 호출 -> findById 마다 별도 영속성 컨텍스트, 두번째 조회는 2차 캐시에서 가져옴
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void secondLevelCache() {
+
+        //given
+        Team teamA = teamRepository.save(new Team("teamA"));
+        committedTeams.add(teamA);
+        em.getEntityManagerFactory().getCache().evict(Team.class, teamA.getId());
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //when
+        Team findTeam1 = teamRepository.findById(teamA.getId()).get();  //캐시 miss -> select 후 캐시에 저장
+        long statementCount = statistics.getPrepareStatementCount();
+        Team findTeam2 = teamRepository.findById(teamA.getId()).get();  //캐시 hit
+
+        //then
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThan(0);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementCount);
+        assertThat(findTeam2.getName()).isEqualTo(findTeam1.getName());
+    }
+
+    //여러 쓰레드가 같은 회원을 동시에 수정 -> 충돌한 트랜잭션은 재시도되어 수정이 누락되지 않음
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void optimisticLockRetry() throws Exception {
+        //given
+        Member member = memberRepository.save(new Member("optimistic", 0));
+        committedMembers.add(member);
+        int threads = 4;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        //when
+        List<Future<Member>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(() -> memberRepository.increaseAge(member.getId())));
+        }
+        for (Future<Member> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        //then
+        Member findMember = memberRepository.findById(member.getId()).get();
+        assertThat(findMember.getAge()).isEqualTo(threads);
+        assertThat(findMember.getVersion()).isEqualTo(threads);
+    }
+
     //사용자가 정의한 repository 구현
     @Test
     public void callCustom() {
@@ -386,6 +855,35 @@ class MemberRepositoryTest {
 
     }
 
+    //같은 모양의 Specification -> 캐시된 JPQL 재사용, 파라미터 값만 다르게 바인딩
+    @Test
+    @Rollback
+    public void specCached() {
+        //given
+        Team teamA = new Team("specTeam");
+        em.persist(teamA);
+
+        Member m1 = new Member("specMember1", 0, teamA);
+        Member m2 = new Member("specMember2", 0, teamA);
+        em.persist(m1);
+        em.persist(m2);
+
+        em.flush();
+        em.clear();
+
+        //when
+        ShapedSpecification<Member> spec1 = MemberSpec.userName("specMember1").and(MemberSpec.teamName("specTeam"));
+        ShapedSpecification<Member> spec2 = MemberSpec.userName("specMember2").and(MemberSpec.teamName("specTeam"));
+        List<Member> result1 = memberRepository.findAllBySpec(spec1);
+        List<Member> result2 = memberRepository.findAllBySpec(spec2);
+
+        //then
+        assertThat(spec1.getShape()).isEqualTo(spec2.getShape());
+        assertThat(result1).extracting("userName").containsExactly("specMember1");
+        assertThat(result2).extracting("userName").containsExactly("specMember2");
+        assertThat(memberRepository.findAll(spec1)).extracting("userName").containsExactly("specMember1");
+    }
+
     //query by Example
     //조인은 가능하지만 내부 조인(INNER JOIN)만 가능함 외부 조인(LEFT JOIN) 안됨
     //중첨 제약조건 안됨
@@ -445,6 +943,7 @@ class MemberRepositoryTest {
 
         //then
          Assertions.assertThat(result.size()).isEqualTo(1);
+         Assertions.assertThat(result.get(0).getUsername()).isEqualTo("m1 0 teamA");
     }
 
     //클래스 기반 Projection
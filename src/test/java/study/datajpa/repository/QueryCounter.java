@@ -0,0 +1,39 @@
+package study.datajpa.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포지토리 호출 한번에 실행된 SQL 개수 검증
+ * hibernate 통계의 prepareStatementCount 를 사용 -> N+1 이 다시 생기면 테스트가 깨짐
+ */
+class QueryCounter {
+
+    private final EntityManager em;
+    private final Statistics statistics;
+
+    QueryCounter(EntityManager em) {
+        this.em = em;
+        this.statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    //영속성 컨텍스트, 2차 캐시를 비우고 실행 -> 캐시 때문에 쿼리가 생략되지 않도록
+    long count(Runnable call) {
+        em.flush();
+        em.clear();
+        em.getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    void assertStatementCount(long expected, Runnable call) {
+        assertThat(count(call)).as("SQL 실행 횟수").isEqualTo(expected);
+    }
+}
@@ -0,0 +1,144 @@
+package study.datajpa.repository;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포지토리 쿼리가 인덱스를 사용하는지 확인
+ * 1. RepositoryIndexAdvisor 가 계산한 인덱스가 스키마에 모두 있는지
+ * 2. 실제 실행된 SQL 의 H2 실행 계획에 member 테이블 전체 스캔(tableScan)이 없는지
+ */
+@SpringBootTest
+@Transactional
+class RepositoryIndexTest {
+
+    @Autowired RepositoryIndexAdvisor indexAdvisor;
+
+    @Autowired MemberRepository memberRepository;
+
+    @Autowired TeamRepository teamRepository;
+
+    @Autowired SqlCapture sqlCapture;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    public void repositoryQueriesHaveIndex() {
+
+        //when
+        List<IndexSuggestion> suggestions = indexAdvisor.suggest();
+        List<IndexSuggestion> missing = indexAdvisor.findMissingIndexes();
+
+        //then
+        assertThat(suggestions).extracting("source").contains(
+                "MemberRepository.findByUserNameAndAgeGreaterThan",
+                "MemberRepository.findUser",
+                "MemberRepository.findByUserName",
+                "MemberRepository.findUserNameList",
+                "MemberRepository.findMemberDto");
+        assertThat(missing)
+                .as("없는 인덱스 -> %s", missing.stream().map(IndexSuggestion::toDdl).collect(Collectors.joining("; ")))
+                .isEmpty();
+    }
+
+    @Test
+    public void noFullScan() {
+
+        //given
+        Team team = teamRepository.save(new Team("teamA"));
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            members.add(new Member("member" + i, i % 50, team));
+        }
+        memberRepository.saveAll(members);
+        em.flush();
+        em.clear();
+
+        //when then
+        assertNoFullScan(() -> memberRepository.findByUserNameAndAgeGreaterThan("member1", 0));
+        assertNoFullScan(() -> memberRepository.findUser("member1", 1));
+        assertNoFullScan(() -> memberRepository.findByUserName("member1"));
+        assertNoFullScan(() -> memberRepository.findByNames(Arrays.asList("member1", "member2")));
+        assertNoFullScan(() -> memberRepository.findPageByAge(10, PageRequest.of(0, 10), CountMode.EXACT));
+
+        //조회 컬럼이 모두 인덱스에 있음 -> 테이블 대신 인덱스만 읽음
+        assertCoveringIndex("idx_member_user_name_age_team", () -> memberRepository.findUserNameList());
+        assertCoveringIndex("idx_member_user_name_age_team", () -> memberRepository.findMemberDto());
+    }
+
+    private void assertNoFullScan(Runnable call) {
+        for (String plan : explain(call)) {
+            assertThat(plan.toLowerCase()).as(plan).doesNotContain("member.tablescan");
+        }
+    }
+
+    private void assertCoveringIndex(String indexName, Runnable call) {
+        for (String plan : explain(call)) {
+            assertThat(plan.toLowerCase()).as(plan).contains(indexName);
+        }
+    }
+
+    //실행된 select 문을 값이 채워진 SQL 로 받아서 explain
+    private List<String> explain(Runnable call) {
+        em.getEntityManagerFactory().getCache().evictAll();
+        List<String> sqls = sqlCapture.capture(call);
+        assertThat(sqls).isNotEmpty();
+
+        return sqls.stream()
+                .map(sql -> String.valueOf(em.createNativeQuery("explain " + sql).getSingleResult()))
+                .collect(Collectors.toList());
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+    }
+
+    static class SqlCapture extends SimpleJdbcEventListener {
+
+        private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+        List<String> capture(Runnable call) {
+            List<String> sqls = new ArrayList<>();
+            captured.set(sqls);
+            try {
+                call.run();
+            } finally {
+                captured.remove();
+            }
+            return sqls;
+        }
+
+        @Override
+        public void onAfterExecuteQuery(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+            List<String> sqls = captured.get();
+            if (sqls != null && e == null) {
+                sqls.add(statementInformation.getSqlWithValues());
+            }
+        }
+    }
+}